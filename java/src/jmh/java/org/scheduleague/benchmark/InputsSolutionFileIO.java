@@ -0,0 +1,55 @@
+package org.scheduleague.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.solver.PlanningEntityBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
+
+// Reads a request into the first round robin partition, which is the problem each solve of a job works on
+public class InputsSolutionFileIO implements SolutionFileIO<Schedule> {
+
+    private final ObjectMapper objectMapper = LeagueGenerator.objectMapper();
+    private final PlanningEntityBuilder planningEntityBuilder = new PlanningEntityBuilder();
+
+    @Override
+    public String getInputFileExtension() {
+        return "json";
+    }
+
+    @Override
+    public Schedule read(File inputSolutionFile) {
+        final Inputs inputs;
+        try {
+            inputs = objectMapper.readValue(inputSolutionFile, Inputs.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + inputSolutionFile, e);
+        }
+
+        final List<Matchup> matchups = planningEntityBuilder.buildMatchups(inputs.teams());
+        final List<Match> emptyMatches = planningEntityBuilder.buildMatches(inputs, Set.of());
+        final List<Match> matches = planningEntityBuilder.addInitialState(inputs.teams(), inputs.initialState(),
+                emptyMatches);
+        return new Schedule(inputs.constraints(), inputs.teams(), matchups,
+                matches.subList(0, Math.min(matchups.size(), matches.size())));
+    }
+
+    @Override
+    public void write(Schedule solution, File outputSolutionFile) {
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(outputSolutionFile, solution.getMatches());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + outputSolutionFile, e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.scheduleague.benchmark;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Inputs.InputMatch;
+import org.scheduleague.domain.Match;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonBenchmark {
+
+    @Param({ "8", "16", "32" })
+    int teams;
+
+    @Param({ "12", "24" })
+    int weeks;
+
+    @Param({ "2", "4" })
+    int slots;
+
+    @Param({ "2" })
+    int venues;
+
+    private ObjectReader inputsReader;
+    private ObjectWriter inputsWriter;
+    private ObjectReader matchesReader;
+    private ObjectWriter matchesWriter;
+
+    private Inputs inputs;
+    private byte[] inputsJson;
+    private byte[] inputsCsvJson;
+    private List<Match> matches;
+    private byte[] matchesJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        final ObjectMapper objectMapper = LeagueGenerator.objectMapper();
+        inputsReader = objectMapper.readerFor(Inputs.class);
+        inputsWriter = objectMapper.writerFor(Inputs.class);
+        matchesReader = objectMapper.readerFor(new TypeReference<List<Match>>() {
+        });
+        matchesWriter = objectMapper.writerFor(new TypeReference<List<Match>>() {
+        });
+
+        final Inputs generated = LeagueGenerator.inputs(teams, weeks, slots, venues);
+        inputs = Inputs.of(generated.weeks(), generated.startDate(), generated.dayTimeSlots(), generated.venues(),
+                generated.teams(), generated.constraints(), LeagueGenerator.initialState(generated, 0.5, 1L));
+        inputsJson = inputsWriter.writeValueAsBytes(inputs);
+        final ObjectNode csvInputs = objectMapper.valueToTree(inputs);
+        csvInputs.put("initialState", csv(inputs.initialState()));
+        inputsCsvJson = objectMapper.writeValueAsBytes(csvInputs);
+        matches = LeagueGenerator.schedule(inputs, 1L).getMatches();
+        matchesJson = matchesWriter.writeValueAsBytes(matches);
+    }
+
+    @Benchmark
+    public Inputs readInputs() throws IOException {
+        return inputsReader.readValue(inputsJson);
+    }
+
+    // The same inputs with the initial state as a CSV string
+    @Benchmark
+    public Inputs readInputsCsv() throws IOException {
+        return inputsReader.readValue(inputsCsvJson);
+    }
+
+    @Benchmark
+    public byte[] writeInputs() throws IOException {
+        return inputsWriter.writeValueAsBytes(inputs);
+    }
+
+    @Benchmark
+    public List<Match> readMatches() throws IOException {
+        return matchesReader.readValue(matchesJson);
+    }
+
+    @Benchmark
+    public byte[] writeMatches() throws IOException {
+        return matchesWriter.writeValueAsBytes(matches);
+    }
+
+    private static String csv(Collection<InputMatch> initialState) {
+        final StringBuilder csv = new StringBuilder("datetime,venueId,homeTeamId,awayTeamId\n");
+        initialState.forEach(m -> csv.append(m.datetime()).append(',').append(m.venueId()).append(',')
+                .append(m.homeTeamId()).append(',').append(m.awayTeamId()).append('\n'));
+        return csv.toString();
+    }
+}
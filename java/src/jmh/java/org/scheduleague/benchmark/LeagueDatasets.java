@@ -0,0 +1,47 @@
+package org.scheduleague.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.scheduleague.domain.Inputs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// The league family used by the solver benchmarks, from 6 teams over 8 weeks to 40 teams over 40 weeks.
+// Run main to write the datasets again after changing the family.
+public final class LeagueDatasets {
+
+    public record Dataset(int teams, int weeks, int slots, int venues) {
+
+        public String name() {
+            return String.format("league-%02dt-%02dw", teams, weeks);
+        }
+
+        public Inputs inputs() {
+            return LeagueGenerator.inputs(teams, weeks, slots, venues);
+        }
+    }
+
+    public static final List<Dataset> DATASETS = List.of(
+            new Dataset(6, 8, 1, 3),
+            new Dataset(10, 12, 2, 2),
+            new Dataset(16, 20, 2, 3),
+            new Dataset(24, 30, 4, 3),
+            new Dataset(40, 40, 4, 5));
+
+    private LeagueDatasets() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        final File directory = new File(args.length > 0 ? args[0] : "../examples/benchmark");
+        directory.mkdirs();
+
+        final ObjectMapper objectMapper = LeagueGenerator.objectMapper();
+        for (final Dataset dataset : DATASETS) {
+            final File file = new File(directory, dataset.name() + ".json");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, dataset.inputs());
+            System.out.println("Wrote " + file);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.scheduleague.benchmark;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.scheduleague.domain.Constraints;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Inputs.Availability;
+import org.scheduleague.domain.Inputs.DayTimeSlots;
+import org.scheduleague.domain.Inputs.InputMatch;
+import org.scheduleague.domain.Inputs.VenueAvailability;
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.domain.Team;
+import org.scheduleague.domain.Venue;
+import org.scheduleague.solver.PlanningEntityBuilder;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+// Synthetic leagues in the shape of the example requests
+public final class LeagueGenerator {
+
+    public static final LocalDate START_DATE = LocalDate.of(2024, 9, 9);
+
+    // Weekly slots are filled two start times per night, in this order of nights
+    private static final List<DayOfWeek> NIGHTS = List.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY,
+            DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    private static final List<LocalTime> START_TIMES = List.of(LocalTime.of(18, 30), LocalTime.of(20, 0));
+
+    private static final PlanningEntityBuilder PLANNING_ENTITY_BUILDER = new PlanningEntityBuilder();
+
+    private LeagueGenerator() {
+    }
+
+    public static Inputs inputs(int teams, int weeks, int slots, int venues) {
+        final Map<DayOfWeek, List<LocalTime>> dayTimes = new EnumMap<>(DayOfWeek.class);
+        for (int i = 0; i < slots; i++) {
+            dayTimes.computeIfAbsent(NIGHTS.get(i / START_TIMES.size()), k -> new ArrayList<>())
+                    .add(START_TIMES.get(i % START_TIMES.size()));
+        }
+
+        return Inputs.of(weeks, START_DATE,
+                dayTimes.entrySet().stream().map(e -> new DayTimeSlots(e.getKey(), e.getValue())).toList(),
+                IntStream.rangeClosed(1, venues).mapToObj(i -> new Venue(i, "Venue" + i)).toList(),
+                IntStream.rangeClosed(1, teams).mapToObj(i -> new Team(i, "Team" + i)).toList(),
+                new Constraints(1, null), null);
+    }
+
+    public static List<Match> emptyMatches(Inputs inputs) {
+        return PLANNING_ENTITY_BUILDER.buildMatches(inputs, Set.of());
+    }
+
+    // Closes each venue on the dates outside the given fraction of the nights
+    public static Availability availability(Inputs inputs, double fraction, long seed) {
+        final Random random = new Random(seed);
+        final List<LocalDate> dates = START_DATE.datesUntil(START_DATE.plusWeeks(inputs.weeks())).toList();
+        return new Availability(null, inputs.venues().stream()
+                .map(v -> new VenueAvailability(v.id(),
+                        dates.stream().filter(d -> random.nextDouble() >= fraction).toList(), null))
+                .toList());
+    }
+
+    // Pins a random matchup in the given fraction of the slots
+    public static List<InputMatch> initialState(Inputs inputs, double fraction, long seed) {
+        final Random random = new Random(seed);
+        final List<Matchup> matchups = PLANNING_ENTITY_BUILDER.buildMatchups(inputs.teams());
+        return emptyMatches(inputs).stream()
+                .filter(m -> random.nextDouble() < fraction)
+                .map(m -> {
+                    final Matchup matchup = matchups.get(random.nextInt(matchups.size()));
+                    return new InputMatch(m.getDatetime(), m.getVenue().id(), matchup.homeTeam().id(),
+                            matchup.awayTeam().id());
+                })
+                .toList();
+    }
+
+    // Every match gets a random matchup, which is what the scores look like during local search
+    public static Schedule schedule(Inputs inputs, long seed) {
+        final Random random = new Random(seed);
+        final List<Matchup> matchups = PLANNING_ENTITY_BUILDER.buildMatchups(inputs.teams());
+        final List<Match> matches = emptyMatches(inputs);
+        matches.forEach(m -> m.setMatchup(matchups.get(random.nextInt(matchups.size()))));
+        return new Schedule(inputs.constraints(), inputs.teams(), matchups, matches);
+    }
+
+    public static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package org.scheduleague.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Inputs.Availability;
+import org.scheduleague.domain.Inputs.InputMatch;
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.solver.PlanningEntityBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlanningEntityBuilderBenchmark {
+
+    @Param({ "8", "16", "32" })
+    int teams;
+
+    @Param({ "12", "24" })
+    int weeks;
+
+    @Param({ "2", "4" })
+    int slots;
+
+    @Param({ "2" })
+    int venues;
+
+    private final PlanningEntityBuilder builder = new PlanningEntityBuilder();
+
+    private Inputs inputs;
+    private Availability availability;
+    private List<InputMatch> initialState;
+    private List<Match> emptyMatches;
+
+    @Setup
+    public void setUp() {
+        inputs = LeagueGenerator.inputs(teams, weeks, slots, venues);
+        availability = LeagueGenerator.availability(inputs, 0.6, 1L);
+        initialState = LeagueGenerator.initialState(inputs, 0.5, 1L);
+        emptyMatches = LeagueGenerator.emptyMatches(inputs);
+    }
+
+    @Benchmark
+    public List<Matchup> buildMatchups() {
+        return builder.buildMatchups(inputs.teams());
+    }
+
+    @Benchmark
+    public List<Match> buildMatches() {
+        return builder.buildMatches(inputs.weeks(), inputs.startDate(), inputs.dayTimeSlots(), inputs.venues());
+    }
+
+    // Venues open on 60% of the nights
+    @Benchmark
+    public List<Match> buildMatchesAvailability() {
+        return builder.buildMatches(inputs.weeks(), inputs.startDate(), inputs.dayTimeSlots(), inputs.venues(),
+                availability, Set.of());
+    }
+
+    @Benchmark
+    public List<Match> addInitialState() {
+        return builder.addInitialState(inputs.teams(), initialState, emptyMatches);
+    }
+}
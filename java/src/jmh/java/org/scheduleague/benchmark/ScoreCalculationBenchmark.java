@@ -0,0 +1,95 @@
+package org.scheduleague.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.solver.ScheduleConstraintProvider;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoreCalculationBenchmark {
+
+    // The odd team counts force byes every week
+    @Param({ "8", "9", "16", "17", "32" })
+    int teams;
+
+    @Param({ "12", "24" })
+    int weeks;
+
+    @Param({ "2", "4" })
+    int slots;
+
+    @Param({ "2" })
+    int venues;
+
+    private Schedule schedule;
+    private InnerScoreDirector<Schedule, HardSoftLongScore> scoreDirector;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final SolverConfig solverConfig = new SolverConfig()
+                .withSolutionClass(Schedule.class)
+                .withEntityClasses(Match.class)
+                .withConstraintProviderClass(ScheduleConstraintProvider.class);
+        final DefaultSolverFactory<Schedule> solverFactory = (DefaultSolverFactory<Schedule>) SolverFactory
+                .<Schedule> create(solverConfig);
+
+        schedule = LeagueGenerator.schedule(LeagueGenerator.inputs(teams, weeks, slots, venues), 1L);
+        scoreDirector = solverFactory.<HardSoftLongScore> getScoreDirectorFactory().buildScoreDirector();
+        scoreDirector.setWorkingSolution(schedule);
+        scoreDirector.calculateScore();
+        random = new Random(1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scoreDirector.close();
+    }
+
+    // Rebuilds the constraint stream session from scratch
+    @Benchmark
+    public HardSoftLongScore fullScore() {
+        scoreDirector.setWorkingSolution(schedule);
+        return scoreDirector.calculateScore();
+    }
+
+    // Swaps the matchups of two matches, like a local search step
+    @Benchmark
+    public HardSoftLongScore incrementalScore() {
+        final List<Match> matches = schedule.getMatches();
+        final Match match1 = matches.get(random.nextInt(matches.size()));
+        final Match match2 = matches.get(random.nextInt(matches.size()));
+        final Matchup matchup1 = match1.getMatchup();
+
+        scoreDirector.beforeVariableChanged(match1, "matchup");
+        match1.setMatchup(match2.getMatchup());
+        scoreDirector.afterVariableChanged(match1, "matchup");
+        scoreDirector.beforeVariableChanged(match2, "matchup");
+        match2.setMatchup(matchup1);
+        scoreDirector.afterVariableChanged(match2, "matchup");
+        scoreDirector.triggerVariableListeners();
+        return scoreDirector.calculateScore();
+    }
+}
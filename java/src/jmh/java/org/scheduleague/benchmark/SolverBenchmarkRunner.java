@@ -0,0 +1,19 @@
+package org.scheduleague.benchmark;
+
+import java.io.File;
+
+import ai.timefold.solver.benchmark.api.PlannerBenchmarkFactory;
+
+// Compares the solver configurations in solverBenchmarkConfig.xml on the league datasets
+public final class SolverBenchmarkRunner {
+
+    private SolverBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) {
+        final PlannerBenchmarkFactory benchmarkFactory = PlannerBenchmarkFactory
+                .createFromXmlResource("solverBenchmarkConfig.xml");
+        final File benchmarkDirectory = benchmarkFactory.buildPlannerBenchmark().benchmark();
+        System.out.println("Benchmark report: " + new File(benchmarkDirectory, "index.html"));
+    }
+}
@@ -0,0 +1,69 @@
+package org.scheduleague.solver;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ai.timefold.solver.core.api.score.stream.ConstraintCollectors;
+import ai.timefold.solver.core.api.score.stream.common.LoadBalance;
+import ai.timefold.solver.core.api.score.stream.uni.UniConstraintCollector;
+
+// Compares the scaled unfairness of the balancing constraints with the BigDecimal unfairness of Timefold that it
+// replaced. It sits in the solver package, as the scaled unfairness is package-private.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UnfairnessBenchmark {
+
+    // The number of balanced values, like the opponents, days or venues of a team
+    @Param({ "2", "8", "32" })
+    int values;
+
+    @Param({ "12", "48" })
+    int matches;
+
+    private LoadBalance<Integer> balance;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(1L);
+        balance = loadBalance(ConstraintCollectors.loadBalance(Function.identity()), random);
+    }
+
+    @Benchmark
+    public long bigDecimalUnfairness() {
+        return balance.unfairness().multiply(BigDecimal.valueOf(ScheduleConstraintProvider.SOFT_SCALE))
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValue();
+    }
+
+    @Benchmark
+    public long scaledUnfairness() {
+        return ScheduleConstraintProvider.scaledUnfairness(balance);
+    }
+
+    // Each match adds a load to a random value, the values without a match are left out like in the constraints
+    private <Container> LoadBalance<Integer> loadBalance(
+            UniConstraintCollector<Integer, Container, LoadBalance<Integer>> collector, Random random) {
+        final Supplier<Container> supplier = collector.supplier();
+        final BiFunction<Container, Integer, Runnable> accumulator = collector.accumulator();
+        final Container container = supplier.get();
+        for (int i = 0; i < matches; i++) {
+            accumulator.apply(container, random.nextInt(values));
+        }
+        return collector.finisher().apply(container);
+    }
+}
@@ -1,10 +1,9 @@
 package org.scheduleague.domain;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.stream.Stream;
 
-import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
 
 public enum BalanceConstraint {
     DAY,
@@ -23,13 +22,13 @@ public enum BalanceConstraint {
             return order;
         }
 
-        public HardSoftBigDecimalScore getWeight(BalanceConstraint constraint) {
+        public HardSoftLongScore getWeight(BalanceConstraint constraint) {
             if (indexOf(constraint) < 0) {
-                return HardSoftBigDecimalScore.ZERO;
+                return HardSoftLongScore.ZERO;
             }
             
             final int rank = size() - indexOf(constraint);
-            return HardSoftBigDecimalScore.ofSoft(BigDecimal.valueOf(rank * 10));
+            return HardSoftLongScore.ofSoft(rank * 10L);
         }
     }
 }
@@ -1,9 +1,30 @@
 package org.scheduleague.domain;
 
-public record Constraints(int maxMatchPerDay, BalanceConstraint.Order balanceOrder) {
+public record Constraints(int maxMatchPerDay, BalanceConstraint.Order balanceOrder, SolvingMode solvingMode) {
     public Constraints {
         if (balanceOrder == null) {
             balanceOrder = BalanceConstraint.DEFAULT_ORDER;
         }
+        if (solvingMode == null) {
+            solvingMode = SolvingMode.DEFAULT;
+        }
+    }
+
+    public Constraints(int maxMatchPerDay, BalanceConstraint.Order balanceOrder) {
+        this(maxMatchPerDay, balanceOrder, null);
+    }
+
+    public Constraints withMaxMatchPerDay(int maxMatchPerDay) {
+        return new Constraints(maxMatchPerDay, balanceOrder, solvingMode);
+    }
+
+    public enum SolvingMode {
+        // The configured solver, stopped by time
+        DEFAULT,
+        // A single seeded solver stopped by a score calculation count limit, so the same inputs always give the same
+        // matches
+        REPRODUCIBLE,
+        // Several unseeded solvers racing on each partition, for the best score in the least time
+        THROUGHPUT
     }
 }
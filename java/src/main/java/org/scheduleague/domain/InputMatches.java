@@ -0,0 +1,111 @@
+package org.scheduleague.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.scheduleague.domain.Inputs.InputMatch;
+
+// The matches of an initial state in columns of primitives, so that a season of them takes a fraction of the memory
+// of the records and their date/times. The records are only built when the list is read as a list.
+public class InputMatches extends AbstractList<InputMatch> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Seconds since the epoch, read as UTC like the minutes of Match.getDatetimeIndex
+    private long[] datetimes;
+    private int[] venueIds;
+    private int[] homeTeamIds;
+    private int[] awayTeamIds;
+    private int size;
+
+    public InputMatches() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InputMatches(int capacity) {
+        this.datetimes = new long[capacity];
+        this.venueIds = new int[capacity];
+        this.homeTeamIds = new int[capacity];
+        this.awayTeamIds = new int[capacity];
+    }
+
+    InputMatches(long[] datetimes, int[] venueIds, int[] homeTeamIds, int[] awayTeamIds, int size) {
+        this.datetimes = datetimes;
+        this.venueIds = venueIds;
+        this.homeTeamIds = homeTeamIds;
+        this.awayTeamIds = awayTeamIds;
+        this.size = size;
+    }
+
+    public static InputMatches of(Collection<InputMatch> matches) {
+        if (matches instanceof InputMatches inputMatches) {
+            return inputMatches;
+        }
+        final InputMatches inputMatches = new InputMatches(matches.size());
+        inputMatches.addAll(matches);
+        return inputMatches;
+    }
+
+    public void add(LocalDateTime datetime, int venueId, int homeTeamId, int awayTeamId) {
+        add(datetime.toEpochSecond(ZoneOffset.UTC), venueId, homeTeamId, awayTeamId);
+    }
+
+    void add(long datetime, int venueId, int homeTeamId, int awayTeamId) {
+        if (size == datetimes.length) {
+            final int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            datetimes = Arrays.copyOf(datetimes, capacity);
+            venueIds = Arrays.copyOf(venueIds, capacity);
+            homeTeamIds = Arrays.copyOf(homeTeamIds, capacity);
+            awayTeamIds = Arrays.copyOf(awayTeamIds, capacity);
+        }
+        datetimes[size] = datetime;
+        venueIds[size] = venueId;
+        homeTeamIds[size] = homeTeamId;
+        awayTeamIds[size] = awayTeamId;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean add(InputMatch match) {
+        add(match.datetime(), match.venueId(), match.homeTeamId(), match.awayTeamId());
+        return true;
+    }
+
+    @Override
+    public InputMatch get(int index) {
+        return new InputMatch(LocalDateTime.ofEpochSecond(datetimes[checkIndex(index)], 0, ZoneOffset.UTC),
+                venueIds[index], homeTeamIds[index], awayTeamIds[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // The minutes since the epoch, the same key as Match.getDatetimeIndex
+    public int getDatetimeIndex(int index) {
+        return (int) Math.floorDiv(datetimes[checkIndex(index)], 60);
+    }
+
+    public int getVenueId(int index) {
+        return venueIds[checkIndex(index)];
+    }
+
+    public int getHomeTeamId(int index) {
+        return homeTeamIds[checkIndex(index)];
+    }
+
+    public int getAwayTeamId(int index) {
+        return awayTeamIds[checkIndex(index)];
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+}
@@ -0,0 +1,210 @@
+package org.scheduleague.domain;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+// Reads an initial state from the parser tokens straight into the columns of InputMatches, in any of 3 shapes:
+// - an array of match objects, as it is written
+// - an object of 4 equally long arrays: {"datetime": [...], "venueId": [...], "homeTeamId": [...], "awayTeamId": [...]}
+// - a CSV string with a datetime,venueId,homeTeamId,awayTeamId line per match, after an optional header line
+public class InputMatchesDeserializer extends StdDeserializer<InputMatches> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String DATETIME = "datetime";
+    static final String VENUE_ID = "venueId";
+    static final String HOME_TEAM_ID = "homeTeamId";
+    static final String AWAY_TEAM_ID = "awayTeamId";
+
+    public InputMatchesDeserializer() {
+        super(InputMatches.class);
+    }
+
+    @Override
+    public InputMatches deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return switch (parser.currentToken()) {
+            case START_ARRAY -> readRows(parser, context);
+            case START_OBJECT -> readColumns(parser, context);
+            case VALUE_STRING -> readCsv(parser.getText(), context);
+            default -> (InputMatches) context.handleUnexpectedToken(InputMatches.class, parser);
+        };
+    }
+
+    private InputMatches readRows(JsonParser parser, DeserializationContext context) throws IOException {
+        final InputMatches matches = new InputMatches();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                context.reportWrongTokenException(this, JsonToken.START_OBJECT, "Expected an initial state match");
+            }
+            LocalDateTime datetime = null;
+            Integer venueId = null;
+            Integer homeTeamId = null;
+            Integer awayTeamId = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case DATETIME -> datetime = readDatetime(parser, context);
+                    case VENUE_ID -> venueId = readInt(parser, context, matches.size(), field);
+                    case HOME_TEAM_ID -> homeTeamId = readInt(parser, context, matches.size(), field);
+                    case AWAY_TEAM_ID -> awayTeamId = readInt(parser, context, matches.size(), field);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (datetime == null) {
+                context.reportInputMismatch(this, "Initial state match %d has no %s", matches.size(), DATETIME);
+            }
+            if (venueId == null) {
+                context.reportInputMismatch(this, "Initial state match %d has no %s", matches.size(), VENUE_ID);
+            }
+            if (homeTeamId == null) {
+                context.reportInputMismatch(this, "Initial state match %d has no %s", matches.size(), HOME_TEAM_ID);
+            }
+            if (awayTeamId == null) {
+                context.reportInputMismatch(this, "Initial state match %d has no %s", matches.size(), AWAY_TEAM_ID);
+            }
+            matches.add(datetime, venueId, homeTeamId, awayTeamId);
+        }
+        return matches;
+    }
+
+    private InputMatches readColumns(JsonParser parser, DeserializationContext context) throws IOException {
+        long[] datetimes = null;
+        int[] venueIds = null;
+        int[] homeTeamIds = null;
+        int[] awayTeamIds = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case DATETIME -> datetimes = readDatetimes(parser, context);
+                case VENUE_ID -> venueIds = readInts(parser, context, field);
+                case HOME_TEAM_ID -> homeTeamIds = readInts(parser, context, field);
+                case AWAY_TEAM_ID -> awayTeamIds = readInts(parser, context, field);
+                default -> parser.skipChildren();
+            }
+        }
+        if (datetimes == null || venueIds == null || homeTeamIds == null || awayTeamIds == null) {
+            context.reportInputMismatch(this, "The initial state columns need %s, %s, %s and %s", DATETIME, VENUE_ID,
+                    HOME_TEAM_ID, AWAY_TEAM_ID);
+        }
+        final int size = datetimes.length;
+        if (venueIds.length != size || homeTeamIds.length != size || awayTeamIds.length != size) {
+            context.reportInputMismatch(this, "The initial state columns have different lengths");
+        }
+        return new InputMatches(datetimes, venueIds, homeTeamIds, awayTeamIds, size);
+    }
+
+    private long[] readDatetimes(JsonParser parser, DeserializationContext context) throws IOException {
+        long[] values = new long[16];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            final LocalDateTime datetime = readDatetime(parser, context);
+            if (datetime == null) {
+                context.reportInputMismatch(this, "Initial state match %d has no datetime", size);
+            }
+            values[size++] = datetime.toEpochSecond(ZoneOffset.UTC);
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    // ISO strings are parsed directly, anything else goes through the configured date/time deserializer
+    private LocalDateTime readDatetime(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            try {
+                return LocalDateTime.parse(parser.getText());
+            } catch (DateTimeParseException e) {
+                // Leave other formats to the deserializer
+            }
+        }
+        return context.readValue(parser, LocalDateTime.class);
+    }
+
+    private int[] readInts(JsonParser parser, DeserializationContext context, String field) throws IOException {
+        int[] values = new int[16];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size] = readInt(parser, context, size, field);
+            size++;
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    // Only integer tokens, as getValueAsInt would read null, strings and other values as 0
+    private int readInt(JsonParser parser, DeserializationContext context, int match, String field)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            context.reportInputMismatch(this, "Initial state match %d has a %s that is not an integer: %s", match,
+                    field, parser.getText());
+        }
+        return parser.getIntValue();
+    }
+
+    private InputMatches readCsv(String csv, DeserializationContext context) throws IOException {
+        final InputMatches matches = new InputMatches();
+        int line = 0;
+        int start = 0;
+        while (start < csv.length()) {
+            int end = csv.indexOf('\n', start);
+            if (end < 0) {
+                end = csv.length();
+            }
+            final int next = end + 1;
+            if (end > start && csv.charAt(end - 1) == '\r') {
+                end--;
+            }
+            line++;
+            // A header line starts with a letter, the date/times start with their year
+            if (end > start && !(line == 1 && Character.isLetter(csv.charAt(start)))) {
+                readCsvLine(csv, start, end, line, matches, context);
+            }
+            start = next;
+        }
+        return matches;
+    }
+
+    private void readCsvLine(String csv, int start, int end, int line, InputMatches matches,
+            DeserializationContext context) throws IOException {
+        final int comma1 = csv.indexOf(',', start);
+        final int comma2 = comma1 < 0 ? -1 : csv.indexOf(',', comma1 + 1);
+        final int comma3 = comma2 < 0 ? -1 : csv.indexOf(',', comma2 + 1);
+        final int comma4 = comma3 < 0 ? -1 : csv.indexOf(',', comma3 + 1);
+        if (comma3 < 0 || comma3 >= end || (comma4 >= 0 && comma4 < end)) {
+            context.reportInputMismatch(this, "Initial state line %d does not have 4 values", line);
+        }
+        try {
+            matches.add(LocalDateTime.parse(csv.substring(start, comma1).strip()), parseInt(csv, comma1 + 1, comma2),
+                    parseInt(csv, comma2 + 1, comma3), parseInt(csv, comma3 + 1, end));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            context.reportInputMismatch(this, "Initial state line %d is invalid: %s", line, e.getMessage());
+        }
+    }
+
+    // Parses the value between the commas in place, around any spaces
+    private static int parseInt(String csv, int start, int end) {
+        while (start < end && csv.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && csv.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return Integer.parseInt(csv, start, end, 10);
+    }
+}
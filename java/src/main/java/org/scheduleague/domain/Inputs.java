@@ -1,29 +1,69 @@
 package org.scheduleague.domain;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Collection;
-import java.util.function.Function;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 public record Inputs(@JsonProperty(required = true) int weeks, @JsonProperty(required = true) LocalDate startDate,
         @JsonProperty(required = true) Collection<DayTimeSlots> dayTimeSlots,
         @JsonProperty(required = true) Collection<Venue> venues, @JsonProperty(required = true) Collection<Team> teams,
-        Constraints constraints, Collection<InputMatch> initialState) {
+        Constraints constraints,
+        @JsonDeserialize(using = InputMatchesDeserializer.class) Collection<InputMatch> initialState,
+        Collection<Match> previousMatches,
+        String previousScheduleId, Termination termination, Availability availability) {
+
+    // A new league, the with methods add a previous schedule, a termination or an availability
+    public static Inputs of(int weeks, LocalDate startDate, Collection<DayTimeSlots> dayTimeSlots,
+            Collection<Venue> venues, Collection<Team> teams, Constraints constraints,
+            Collection<InputMatch> initialState) {
+        return new Inputs(weeks, startDate, dayTimeSlots, venues, teams, constraints, initialState, null, null, null,
+                null);
+    }
+
+    public Inputs withPreviousMatches(Collection<Match> previousMatches) {
+        return new Inputs(weeks, startDate, dayTimeSlots, venues, teams, constraints, initialState, previousMatches,
+                previousScheduleId, termination, availability);
+    }
+
+    public Inputs withPreviousScheduleId(String previousScheduleId) {
+        return new Inputs(weeks, startDate, dayTimeSlots, venues, teams, constraints, initialState, previousMatches,
+                previousScheduleId, termination, availability);
+    }
+
+    public Inputs withTermination(Termination termination) {
+        return new Inputs(weeks, startDate, dayTimeSlots, venues, teams, constraints, initialState, previousMatches,
+                previousScheduleId, termination, availability);
+    }
+
+    public Inputs withAvailability(Availability availability) {
+        return new Inputs(weeks, startDate, dayTimeSlots, venues, teams, constraints, initialState, previousMatches,
+                previousScheduleId, termination, availability);
+    }
 
     public record DayTimeSlots(@JsonProperty(required = true) DayOfWeek day,
             @JsonProperty(required = true) Collection<LocalTime> startTimes) {
     }
 
-    public record InputMatch(LocalDateTime datetime, int venueId, int homeTeamId, int awayTeamId) {
+    // Overrides the termination derived from the size of each partition, any limit left out keeps its default.
+    // A REPRODUCIBLE solve only takes the spent limit.
+    public record Termination(Duration spentLimit, Duration unimprovedSpentLimit, Long minSoftImprovementPerSecond) {
+    }
+
+    // The slots the league cannot use, they are left out of the matches before solving
+    public record Availability(Collection<LocalDate> holidays, Collection<VenueAvailability> venues) {
+    }
+
+    // A venue is closed on its blackout dates, and when it lists its own slots it only hosts the league slots in them
+    public record VenueAvailability(@JsonProperty(required = true) int venueId, Collection<LocalDate> blackoutDates,
+            Collection<DayTimeSlots> dayTimeSlots) {
+    }
 
-        public Match toMatch(int id, int week, Function<Integer, Venue> venueMapper,
-                Function<Integer, Team> teamMapper) {
-            return new Match(id, week, datetime, venueMapper.apply(venueId), teamMapper.apply(homeTeamId),
-                    teamMapper.apply(awayTeamId));
-        }
+    public record InputMatch(LocalDateTime datetime, int venueId, int homeTeamId, int awayTeamId) {
     }
 }
@@ -15,6 +15,8 @@ import ai.timefold.solver.core.api.domain.variable.PlanningVariable;
 @PlanningEntity(pinningFilter = LockedPinningFilter.class)
 public class Match implements Comparable<Match> {
 
+	private static final int MINUTES_PER_DAY = 24 * 60;
+
 	@PlanningId
 	private int id;
 
@@ -29,7 +31,22 @@ public class Match implements Comparable<Match> {
 	private Matchup matchup;
 
 	@JsonIgnore
-	private final boolean locked;
+	private boolean locked;
+
+	// Locked because another partition solved it, which unpinning does not undo
+	@JsonIgnore
+	private boolean partitionLocked;
+
+	// Integer keys of the date/time and venue, so that the constraints join and group on them without allocating.
+	// Matches read from JSON are not indexed, PlanningEntityBuilder builds new matches from them before solving.
+	@JsonIgnore
+	private int dayIndex;
+	@JsonIgnore
+	private int timeIndex;
+	@JsonIgnore
+	private int dayOfWeekIndex;
+	@JsonIgnore
+	private int venueId;
 
 	// No-arg constructor required for Timefold
 	public Match() {
@@ -42,6 +59,7 @@ public class Match implements Comparable<Match> {
 		this.datetime = datetime;
 		this.venue = venue;
 		this.locked = false;
+		index();
 	}
 
 	public Match(int id, int week, LocalDateTime datetime, Venue venue, Team homeTeam, Team awayTeam) {
@@ -51,6 +69,14 @@ public class Match implements Comparable<Match> {
 		this.venue = venue;
 		this.matchup = new Matchup(homeTeam, awayTeam);
 		this.locked = true;
+		index();
+	}
+
+	private void index() {
+		this.dayIndex = (int) datetime.toLocalDate().toEpochDay();
+		this.timeIndex = datetime.toLocalTime().toSecondOfDay() / 60;
+		this.dayOfWeekIndex = datetime.getDayOfWeek().ordinal();
+		this.venueId = venue.id();
 	}
 
 	public int getId() {
@@ -69,6 +95,43 @@ public class Match implements Comparable<Match> {
 		return venue;
 	}
 
+	@JsonIgnore
+	public int getDayIndex() {
+		return dayIndex;
+	}
+
+	@JsonIgnore
+	public int getTimeIndex() {
+		return timeIndex;
+	}
+
+	@JsonIgnore
+	public int getDayOfWeekIndex() {
+		return dayOfWeekIndex;
+	}
+
+	// The day of the week and the minute of the day
+	@JsonIgnore
+	public int getDayTimeIndex() {
+		return dayOfWeekIndex * MINUTES_PER_DAY + timeIndex;
+	}
+
+	// The minutes since the epoch, which fits an int until the year 6053
+	@JsonIgnore
+	public int getDatetimeIndex() {
+		return dayIndex * MINUTES_PER_DAY + timeIndex;
+	}
+
+	@JsonIgnore
+	public int getVenueId() {
+		return venueId;
+	}
+
+	@JsonIgnore
+	public long getMatchupKey() {
+		return matchup.pairKey();
+	}
+
 	public Matchup getMatchup() {
 		return matchup;
 	}
@@ -81,10 +144,22 @@ public class Match implements Comparable<Match> {
 		return locked;
 	}
 
+	public void setLocked(boolean locked) {
+		this.locked = locked;
+	}
+
+	public boolean isPartitionLocked() {
+		return partitionLocked;
+	}
+
 	public Team getOpponent(Team team) {
 		return matchup.getOpponent(team);
 	}
 
+	public int getOpponentId(int teamId) {
+		return matchup.homeTeamId() == teamId ? matchup.awayTeamId() : matchup.homeTeamId();
+	}
+
 	public boolean containsTeam(Team team) {
 		return matchup.containsTeam(team);
 	}
@@ -98,11 +173,27 @@ public class Match implements Comparable<Match> {
 	}
 
 	public boolean anyTeamsEqual(Match match) {
-		return matchup.containsTeam(match.matchup.homeTeam()) || matchup.containsTeam(match.matchup.awayTeam());
+		return matchup.containsTeamId(match.matchup.homeTeamId()) || matchup.containsTeamId(match.matchup.awayTeamId());
 	}
 
+	// Locks in place, the match keeps its matchup instance
 	public Match lock() {
-		return new Match(id, week, datetime, venue, matchup.homeTeam(), matchup.awayTeam());
+		this.locked = true;
+		return this;
+	}
+
+	// Locks in place for the partitions solved after the one of the match
+	public Match lockPartition() {
+		this.partitionLocked = true;
+		return lock();
+	}
+
+	public Match copy() {
+		final Match match = new Match(id, week, datetime, venue);
+		match.matchup = matchup;
+		match.locked = locked;
+		match.partitionLocked = partitionLocked;
+		return match;
 	}
 
 	@Override
@@ -0,0 +1,9 @@
+package org.scheduleague.domain;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record MatchSlot(@JsonProperty(required = true) LocalDateTime datetime,
+        @JsonProperty(required = true) int venueId) {
+}
@@ -5,30 +5,61 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 public record Matchup(@JsonIdentityReference Team homeTeam, @JsonIdentityReference Team awayTeam) {
 
-	@JsonIgnore
-    public Matchup reverse() {
-    	return new Matchup(awayTeam, homeTeam);
+    // Teams are compared by id, which is cheaper than comparing the records
+    @JsonIgnore
+    public int homeTeamId() {
+        return homeTeam.id();
     }
-    
+
+    @JsonIgnore
+    public int awayTeamId() {
+        return awayTeam.id();
+    }
+
+    // The lower and higher team ids packed together, so that a matchup and its reverse share the key
+    @JsonIgnore
+    public long pairKey() {
+        final int lowId = Math.min(homeTeam.id(), awayTeam.id());
+        final int highId = Math.max(homeTeam.id(), awayTeam.id());
+        return ((long) lowId << 32) | (highId & 0xFFFFFFFFL);
+    }
+
     public Team getOpponent(Team team) {
-        if (homeTeam.equals(team)) {
+        if (homeTeam.id() == team.id()) {
             return awayTeam;
         }
-        else if (awayTeam.equals(team)) {
+        else if (awayTeam.id() == team.id()) {
             return homeTeam;
         }
         return null;
     }
 
     public boolean containsTeam(Team team) {
-        return homeTeam.equals(team) || awayTeam.equals(team);
+        return containsTeamId(team.id());
+    }
+
+    public boolean containsTeamId(int teamId) {
+        return homeTeam.id() == teamId || awayTeam.id() == teamId;
     }
 
     public boolean containsTeams(Team team1, Team team2) {
-        return (homeTeam.equals(team1) && awayTeam.equals(team2)) || (homeTeam.equals(team2) && awayTeam.equals(team1));
+        return (homeTeam.id() == team1.id() && awayTeam.id() == team2.id())
+                || (homeTeam.id() == team2.id() && awayTeam.id() == team1.id());
     }
     
     public boolean teamsEqual(Matchup matchup) {
         return containsTeams(matchup.homeTeam, matchup.awayTeam);
     }
+
+    // Matchups of a problem come from its MatchupTable, so most comparisons are between the same instances
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof Matchup matchup && homeTeam.equals(matchup.homeTeam)
+                && awayTeam.equals(matchup.awayTeam));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * homeTeam.id() + awayTeam.id();
+    }
 }
@@ -0,0 +1,57 @@
+package org.scheduleague.domain;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One matchup for each ordered pair of teams of a problem. Matchups are looked up instead of built, so the same
+// pair is always the same instance and keeps the same index for the whole problem.
+public class MatchupTable {
+
+    private final List<Team> teams;
+    private final Map<Integer, Integer> teamIndices = new HashMap<>();
+    private final Matchup[] matchups;
+
+    public MatchupTable(Collection<Team> teams) {
+        this.teams = List.copyOf(teams);
+        this.matchups = new Matchup[this.teams.size() * this.teams.size()];
+        for (int i = 0; i < this.teams.size(); i++) {
+            teamIndices.put(this.teams.get(i).id(), i);
+        }
+        for (int i = 0; i < this.teams.size(); i++) {
+            for (int j = 0; j < this.teams.size(); j++) {
+                if (i != j) {
+                    matchups[i * this.teams.size() + j] = new Matchup(this.teams.get(i), this.teams.get(j));
+                }
+            }
+        }
+    }
+
+    public List<Team> getTeams() {
+        return teams;
+    }
+
+    // Returns null when a team is not part of the problem
+    public Matchup get(int homeTeamId, int awayTeamId) {
+        final int index = indexOf(homeTeamId, awayTeamId);
+        return index < 0 ? null : matchups[index];
+    }
+
+    public Matchup get(Team homeTeam, Team awayTeam) {
+        return get(homeTeam.id(), awayTeam.id());
+    }
+
+    public Matchup reverse(Matchup matchup) {
+        return get(matchup.awayTeamId(), matchup.homeTeamId());
+    }
+
+    private int indexOf(int homeTeamId, int awayTeamId) {
+        final Integer homeIndex = teamIndices.get(homeTeamId);
+        final Integer awayIndex = teamIndices.get(awayTeamId);
+        if (homeIndex == null || awayIndex == null || homeIndex.equals(awayIndex)) {
+            return -1;
+        }
+        return homeIndex * teams.size() + awayIndex;
+    }
+}
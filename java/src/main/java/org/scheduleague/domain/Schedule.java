@@ -13,7 +13,7 @@ import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
 import ai.timefold.solver.core.api.domain.solution.ProblemFactCollectionProperty;
 import ai.timefold.solver.core.api.domain.solution.ProblemFactProperty;
 import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
-import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
 
 @PlanningSolution
 public class Schedule {
@@ -31,10 +31,10 @@ public class Schedule {
     @PlanningEntityCollectionProperty
     private List<Match> matches;
     
-    private ConstraintWeightOverrides<HardSoftBigDecimalScore> constraintWeightOverrides;
+    private ConstraintWeightOverrides<HardSoftLongScore> constraintWeightOverrides;
     
     @PlanningScore
-    private HardSoftBigDecimalScore score;
+    private HardSoftLongScore score;
     
     // No-arg constructor required for Timefold
     public Schedule() {
@@ -54,6 +54,18 @@ public class Schedule {
                         constraints.balanceOrder().getWeight(BalanceConstraint.VENUE)));
     }
 
+    public Constraints getConstraints() {
+        return constraints;
+    }
+
+    public void setConstraints(Constraints constraints) {
+        this.constraints = constraints;
+    }
+
+    public Collection<Team> getTeams() {
+        return teams;
+    }
+
     public List<Matchup> getMatchups() {
         return matchups;
     }
@@ -61,20 +73,24 @@ public class Schedule {
     public List<Match> getMatches() {
         return matches;
     }
+
+    public void setMatches(List<Match> matches) {
+        this.matches = matches;
+    }
     
-    public ConstraintWeightOverrides<HardSoftBigDecimalScore> getConstraintWeightOverrides() {
+    public ConstraintWeightOverrides<HardSoftLongScore> getConstraintWeightOverrides() {
         return constraintWeightOverrides;
     }
     
-    public void setConstraintWeightOverrides(ConstraintWeightOverrides<HardSoftBigDecimalScore> constraintWeightOverrides) {
+    public void setConstraintWeightOverrides(ConstraintWeightOverrides<HardSoftLongScore> constraintWeightOverrides) {
         this.constraintWeightOverrides = constraintWeightOverrides;
     }
 
-    public HardSoftBigDecimalScore getScore() {
+    public HardSoftLongScore getScore() {
         return score;
     }
 
-    public void setScore(HardSoftBigDecimalScore score) {
+    public void setScore(HardSoftLongScore score) {
         this.score = score;
     }
 }
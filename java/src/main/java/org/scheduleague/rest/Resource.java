@@ -1,49 +1,71 @@
 package org.scheduleague.rest;
 
-import java.util.ArrayList;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
-import org.apache.commons.collections4.ListUtils;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.headers.Header;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
+import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
+import org.scheduleague.domain.Constraints.SolvingMode;
 import org.scheduleague.domain.Inputs;
 import org.scheduleague.domain.Match;
-import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.MatchSlot;
 import org.scheduleague.domain.Schedule;
-import org.scheduleague.solver.PlanningEntityBuilder;
+import org.scheduleague.solver.DivisionResult;
+import org.scheduleague.solver.QueueFullException;
+import org.scheduleague.solver.ScheduleCache;
+import org.scheduleague.solver.ScheduleEvent;
+import org.scheduleague.solver.ScheduleJob;
+import org.scheduleague.solver.ScheduleJobManager;
 
-import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
 import ai.timefold.solver.core.api.solver.SolutionManager;
-import ai.timefold.solver.core.api.solver.SolverJob;
-import ai.timefold.solver.core.api.solver.SolverManager;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 
 @Path("")
 @Tag(name = "League Scheduler", description = "League scheduler service assigning team matchups to venues and timeslots.")
 public class Resource {
 
+    static final String SCHEDULE_ID = "Schedule-Id";
+    static final String TENANT_ID = "Tenant-Id";
+
     @Inject
-    PlanningEntityBuilder planningEntityBuilder;
+    ScheduleJobManager jobManager;
 
     @Inject
-    SolverManager<Schedule, UUID> solverManager;
+    ScheduleCache scheduleCache;
 
     @Inject
-    SolutionManager<Schedule, HardSoftBigDecimalScore> solutionManager;
+    SolutionManager<Schedule, HardSoftLongScore> solutionManager;
 
     @POST
     @Path("generate")
@@ -52,34 +74,220 @@ public class Resource {
     @Operation(summary = "Submit schedule inputs and constraints to generate a schedule.")
     @RequestBody(description = "The schedule inputs", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = Inputs.class)))
     @APIResponses({
-            @APIResponse(responseCode = "200", description = "The matches with assigned teams, venues, and timeslots.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(type = SchemaType.ARRAY, implementation = Match.class)))
+            @APIResponse(responseCode = "200", description = "The matches with assigned teams, venues, and timeslots.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(type = SchemaType.ARRAY, implementation = Match.class)), headers = @Header(name = SCHEDULE_ID, description = "The id to warm start a later schedule from these matches.")),
+            @APIResponse(responseCode = "400", description = "The previous schedule id is unknown or expired, or a REPRODUCIBLE termination has more than a spent limit."),
+            @APIResponse(responseCode = "429", description = "Too many jobs are waiting for a solver.")
+    })
+    public Response generate(Inputs inputs, @HeaderParam(TENANT_ID) String tenant) throws InterruptedException, ExecutionException {
+        // Throughput solves are not reproducible, so they neither use nor fill the cache
+        final boolean cacheable = inputs.constraints() == null
+                || inputs.constraints().solvingMode() != SolvingMode.THROUGHPUT;
+        final String scheduleId = scheduleCache.key(inputs);
+        final Optional<List<Match>> cachedMatches = cacheable ? scheduleCache.get(scheduleId) : Optional.empty();
+        if (cachedMatches.isPresent()) {
+            return Response.ok(cachedMatches.get()).header(SCHEDULE_ID, scheduleId).build();
+        }
+
+        final ScheduleJob job;
+        try {
+            job = jobManager.submit(withPreviousMatches(inputs), "generate", tenant);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        try {
+            final List<Match> matches = job.getResult().get();
+            // A terminated job has not finished solving, so its matches are not cached
+            if (cacheable && job.getStatus() == ScheduleJob.Status.COMPLETED) {
+                scheduleCache.put(inputs, matches);
+            }
+            return Response.ok(matches).header(SCHEDULE_ID, cacheable ? scheduleId : null).build();
+        } finally {
+            jobManager.remove(job.getId());
+        }
+    }
+
+    @POST
+    @Path("generate/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Submit the inputs of several divisions to generate their schedules together.")
+    @RequestBody(description = "The schedule inputs of each division", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(type = SchemaType.ARRAY, implementation = Inputs.class)))
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "The matches of each division as soon as it is scheduled. Divisions sharing a venue never use the same slot.", content = @Content(mediaType = RestMediaType.APPLICATION_NDJSON, schema = @Schema(implementation = DivisionResult.class))),
+            @APIResponse(responseCode = "400", description = "Two divisions have an initial state match in the same slot, or a REPRODUCIBLE termination has more than a spent limit."),
+            @APIResponse(responseCode = "429", description = "Too many jobs are waiting for a solver to admit all divisions.")
+    })
+    public Multi<DivisionResult> generateBatch(List<Inputs> divisions, @HeaderParam(TENANT_ID) String tenant) {
+        final List<ScheduleJob> jobs;
+        try {
+            jobs = jobManager.submitBatch(divisions.stream().map(this::withPreviousMatches).toList(), "batch", tenant);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return Multi.createFrom().range(0, jobs.size())
+                .onItem().transformToUniAndMerge(i -> Uni.createFrom().completionStage(jobs.get(i).getResult())
+                        .map(matches -> new DivisionResult(i, jobs.get(i).getStatus(), matches, null))
+                        .onFailure().recoverWithItem(e -> new DivisionResult(i, jobs.get(i).getStatus(), List.of(),
+                                e.getMessage()))
+                        .eventually(() -> jobManager.remove(jobs.get(i).getId())));
+    }
+
+    @POST
+    @Path("jobs")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Submit schedule inputs and constraints to generate a schedule asynchronously.")
+    @RequestBody(description = "The schedule inputs", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = Inputs.class)))
+    @APIResponses({
+            @APIResponse(responseCode = "202", description = "The submitted job.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ScheduleJob.class))),
+            @APIResponse(responseCode = "400", description = "The previous schedule id is unknown or expired, or a REPRODUCIBLE termination has more than a spent limit."),
+            @APIResponse(responseCode = "429", description = "Too many jobs are waiting for a solver.")
+    })
+    public Response submit(Inputs inputs, @HeaderParam(TENANT_ID) String tenant) {
+        final ScheduleJob job;
+        try {
+            job = jobManager.submit(withPreviousMatches(inputs), "jobs", tenant);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return Response.accepted(job).location(URI.create("jobs/" + job.getId())).build();
+    }
+
+    @GET
+    @Path("jobs/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get the status and best matches so far of a submitted job.")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "The job status and best matches so far.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ScheduleJob.class))),
+            @APIResponse(responseCode = "404", description = "No job exists with the given id, or it expired after it finished.")
+    })
+    public ScheduleJob getJob(@PathParam("id") UUID id) {
+        return jobManager.get(id).orElseThrow(NotFoundException::new);
+    }
+
+    @GET
+    @Path("jobs/{id}/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Stream the best solution changes, completed partitions and reconciliation, and completion of a submitted job.")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "A snapshot of the job, followed by its events as they happen.", content = @Content(mediaType = MediaType.SERVER_SENT_EVENTS, schema = @Schema(implementation = ScheduleEvent.class))),
+            @APIResponse(responseCode = "404", description = "No job exists with the given id.")
+    })
+    public Multi<ScheduleEvent> streamJob(@PathParam("id") UUID id) {
+        final ScheduleJob job = jobManager.get(id).orElseThrow(NotFoundException::new);
+        return Multi.createFrom().<ScheduleEvent> emitter(job::subscribe);
+    }
+
+    @POST
+    @Path("jobs/{id}/matches")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Add an empty match slot to a running job.")
+    @RequestBody(description = "The date/time and venue of the slot", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = MatchSlot.class)))
+    @APIResponses({
+            @APIResponse(responseCode = "202", description = "The slot is added to the job.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ScheduleJob.class))),
+            @APIResponse(responseCode = "400", description = "The venue is unknown, or the slot is outside the season or closed."),
+            @APIResponse(responseCode = "404", description = "No job exists with the given id."),
+            @APIResponse(responseCode = "409", description = "The job is not solving anymore, or the partition of the match is already solved.")
+    })
+    public Response addMatch(@PathParam("id") UUID id, MatchSlot slot) {
+        return change(() -> jobManager.addMatch(id, slot.datetime(), slot.venueId()));
+    }
+
+    @DELETE
+    @Path("jobs/{id}/matches/{matchId}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Remove a match slot from a running job.")
+    @APIResponses({
+            @APIResponse(responseCode = "202", description = "The slot is removed from the job.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ScheduleJob.class))),
+            @APIResponse(responseCode = "400", description = "The match is unknown."),
+            @APIResponse(responseCode = "404", description = "No job exists with the given id."),
+            @APIResponse(responseCode = "409", description = "The job is not solving anymore, or the partition of the match is already solved.")
+    })
+    public Response removeMatch(@PathParam("id") UUID id, @PathParam("matchId") int matchId) {
+        return change(() -> jobManager.removeMatch(id, matchId));
+    }
+
+    @PUT
+    @Path("jobs/{id}/matches/{matchId}/pin")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Pin a match of a running job to its current matchup.")
+    @APIResponses({
+            @APIResponse(responseCode = "202", description = "The match is pinned.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ScheduleJob.class))),
+            @APIResponse(responseCode = "400", description = "The match is unknown."),
+            @APIResponse(responseCode = "404", description = "No job exists with the given id."),
+            @APIResponse(responseCode = "409", description = "The job is not solving anymore, or the partition of the match is already solved.")
     })
-    public List<Match> generate(Inputs inputs) throws InterruptedException, ExecutionException {
-    	final List<Matchup> matchups1 = planningEntityBuilder.buildMatchups(inputs.teams());
-    	final List<Matchup> matchups2 = matchups1.stream().map(Matchup::reverse).toList();
-        final List<Match> emptyMatches = planningEntityBuilder.buildMatches(inputs.weeks(), inputs.startDate(),
-                inputs.dayTimeSlots(), inputs.venues());
-        final List<Match> unscheduledMatches = planningEntityBuilder.addInitialState(inputs.venues(), inputs.teams(),
-                inputs.initialState(), emptyMatches);
-
-        final List<List<Match>> partitions = ListUtils.partition(unscheduledMatches, matchups1.size());    
-        
-        List<Match> scheduledMatches = new ArrayList<>();
-        for (int i = 0; i < partitions.size(); i++) {
-        	final List<Match> partition = partitions.get(i);
-        	if (partition.stream().allMatch(Match::isLocked)) {
-        		scheduledMatches = partition;
-        		continue;
-        	}
-        	
-        	final List<Match> matches = Stream.concat(scheduledMatches.stream(), partition.stream()).toList();
-        	final List<Matchup> matchups = i % 2 == 0 ? matchups1 : matchups2;
-	        final Schedule schedule = new Schedule(inputs.constraints(), inputs.teams(), matchups, matches);
-	
-	        final SolverJob<Schedule, UUID> job = solverManager.solve(UUID.randomUUID(), schedule);
-	
-	        scheduledMatches = job.getFinalBestSolution().getMatches().stream().map(Match::lock).toList();;
+    public Response pinMatch(@PathParam("id") UUID id, @PathParam("matchId") int matchId) {
+        return change(() -> jobManager.pinMatch(id, matchId, true));
+    }
+
+    @DELETE
+    @Path("jobs/{id}/matches/{matchId}/pin")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Unpin a match of a running job, so its matchup can change again.")
+    @APIResponses({
+            @APIResponse(responseCode = "202", description = "The match is unpinned.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ScheduleJob.class))),
+            @APIResponse(responseCode = "400", description = "The match is unknown."),
+            @APIResponse(responseCode = "404", description = "No job exists with the given id."),
+            @APIResponse(responseCode = "409", description = "The job is not solving anymore, or the partition of the match is already solved.")
+    })
+    public Response unpinMatch(@PathParam("id") UUID id, @PathParam("matchId") int matchId) {
+        return change(() -> jobManager.pinMatch(id, matchId, false));
+    }
+
+    @PUT
+    @Path("jobs/{id}/constraints/max-match-per-day")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Change the maximum number of matches per day of a team in a running job.")
+    @RequestBody(description = "The maximum number of matches per day", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(type = SchemaType.INTEGER)))
+    @APIResponses({
+            @APIResponse(responseCode = "202", description = "The constraint is changed.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ScheduleJob.class))),
+            @APIResponse(responseCode = "404", description = "No job exists with the given id."),
+            @APIResponse(responseCode = "409", description = "The job is not solving anymore.")
+    })
+    public Response changeMaxMatchPerDay(@PathParam("id") UUID id, int maxMatchPerDay) {
+        return change(() -> jobManager.changeMaxMatchPerDay(id, maxMatchPerDay));
+    }
+
+    @DELETE
+    @Path("jobs/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Terminate a running job early, or remove a finished job.")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "The job status and best matches so far.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ScheduleJob.class))),
+            @APIResponse(responseCode = "404", description = "No job exists with the given id.")
+    })
+    public ScheduleJob terminateJob(@PathParam("id") UUID id) {
+        return jobManager.terminate(id).orElseThrow(NotFoundException::new);
+    }
+
+    // A running solver has taken the change before the response, a partition that is not solving yet takes it when it
+    // starts. The job shows it with its next best solution.
+    private Response change(Supplier<Optional<ScheduleJob>> change) {
+        try {
+            return Response.accepted(change.get().orElseThrow(NotFoundException::new)).build();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ClientErrorException(e.getMessage(), Response.Status.CONFLICT);
+        }
+    }
+
+    @ServerExceptionMapper
+    public Response mapQueueFull(QueueFullException e) {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS).entity(e.getMessage()).build();
+    }
+
+    // A previous schedule given by id is looked up in the cache of generated schedules
+    private Inputs withPreviousMatches(Inputs inputs) {
+        if (inputs.previousMatches() != null || inputs.previousScheduleId() == null) {
+            return inputs;
         }
-        return scheduledMatches;
+        return inputs.withPreviousMatches(scheduleCache.get(inputs.previousScheduleId())
+                .orElseThrow(() -> new BadRequestException("Unknown previous schedule id " + inputs.previousScheduleId())));
     }
-}
\ No newline at end of file
+}
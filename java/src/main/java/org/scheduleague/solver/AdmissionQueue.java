@@ -0,0 +1,138 @@
+package org.scheduleague.solver;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+
+// Admits a limited number of jobs to the solvers. Waiting jobs start smallest first, except that the jobs
+// waiting longer than the max wait start first in the order they came, so that a large league cannot starve.
+// Either way, the tenants that already solve their quota of jobs are skipped.
+class AdmissionQueue {
+
+    private final int solvingJobs;
+    private final int queueSize;
+    private final int tenantQuota;
+    private final Duration maxWait;
+
+    private final NavigableSet<Entry> queued = new TreeSet<>(Comparator.comparingInt(Entry::size)
+            .thenComparingLong(Entry::sequence));
+    private final NavigableSet<Entry> arrivals = new TreeSet<>(Comparator.comparingLong(Entry::sequence));
+    private final Map<String, Integer> tenantSolvingJobs = new HashMap<>();
+    private int solving;
+    private long sequence;
+    Clock clock = Clock.systemUTC();
+
+    AdmissionQueue(int solvingJobs, int queueSize, int tenantQuota, Duration maxWait) {
+        this.solvingJobs = solvingJobs;
+        this.queueSize = queueSize;
+        this.tenantQuota = tenantQuota;
+        this.maxWait = maxWait;
+    }
+
+    // The jobs are admitted together or not at all, jobs that can start right away do not count as waiting
+    void submit(String tenant, List<Request> requests) {
+        final List<Entry> started;
+        synchronized (this) {
+            if (queued.size() + requests.size() > queueSize + Math.max(0, solvingJobs - solving)) {
+                throw new QueueFullException("The queue is full with " + queued.size() + " waiting jobs");
+            }
+            final Instant now = clock.instant();
+            requests.forEach(r -> {
+                final Entry entry = new Entry(r.id(), tenant, r.size(), sequence++, now, r.start());
+                queued.add(entry);
+                arrivals.add(entry);
+            });
+            started = dispatch();
+        }
+        started.forEach(e -> e.start().run());
+    }
+
+    void release(String tenant) {
+        final List<Entry> started;
+        synchronized (this) {
+            solving--;
+            tenantSolvingJobs.computeIfPresent(tenant, (t, i) -> i > 1 ? i - 1 : null);
+            started = dispatch();
+        }
+        started.forEach(e -> e.start().run());
+    }
+
+    // A cancelled job starts right away, so that it completes without solving
+    boolean cancel(UUID id) {
+        final Optional<Entry> cancelled;
+        synchronized (this) {
+            cancelled = arrivals.stream().filter(e -> e.id().equals(id)).findFirst();
+            cancelled.ifPresent(e -> {
+                queued.remove(e);
+                arrivals.remove(e);
+                admit(e);
+            });
+        }
+        cancelled.ifPresent(e -> e.start().run());
+        return cancelled.isPresent();
+    }
+
+    synchronized int getQueued() {
+        return queued.size();
+    }
+
+    synchronized int getSolving() {
+        return solving;
+    }
+
+    private List<Entry> dispatch() {
+        final List<Entry> started = new ArrayList<>();
+        // The arrivals are in the order they came, so the overdue jobs are the ones up to the first job still in time
+        final Instant overdue = clock.instant().minus(maxWait);
+        final Iterator<Entry> arrived = arrivals.iterator();
+        while (solving < solvingJobs && arrived.hasNext()) {
+            final Entry entry = arrived.next();
+            if (entry.queuedAt().isAfter(overdue)) {
+                break;
+            }
+            if (isWithinQuota(entry)) {
+                arrived.remove();
+                queued.remove(entry);
+                admit(entry);
+                started.add(entry);
+            }
+        }
+        final Iterator<Entry> iterator = queued.iterator();
+        while (solving < solvingJobs && iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (isWithinQuota(entry)) {
+                iterator.remove();
+                arrivals.remove(entry);
+                admit(entry);
+                started.add(entry);
+            }
+        }
+        return started;
+    }
+
+    private boolean isWithinQuota(Entry entry) {
+        return tenantQuota <= 0 || tenantSolvingJobs.getOrDefault(entry.tenant(), 0) < tenantQuota;
+    }
+
+    private void admit(Entry entry) {
+        solving++;
+        tenantSolvingJobs.merge(entry.tenant(), 1, Integer::sum);
+    }
+
+    // The size is the number of matches to solve
+    record Request(UUID id, int size, Runnable start) {
+    }
+
+    private record Entry(UUID id, String tenant, int size, long sequence, Instant queuedAt, Runnable start) {
+    }
+}
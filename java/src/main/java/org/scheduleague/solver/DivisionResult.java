@@ -0,0 +1,9 @@
+package org.scheduleague.solver;
+
+import java.util.List;
+
+import org.scheduleague.domain.Match;
+
+// The result of one division of a batch, in the order the divisions finish
+public record DivisionResult(int division, ScheduleJob.Status status, List<Match> matches, String error) {
+}
@@ -4,20 +4,32 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.paukov.combinatorics3.Generator;
+import org.scheduleague.domain.InputMatches;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Inputs.Availability;
 import org.scheduleague.domain.Inputs.DayTimeSlots;
 import org.scheduleague.domain.Inputs.InputMatch;
+import org.scheduleague.domain.Inputs.VenueAvailability;
 import org.scheduleague.domain.Match;
+import org.scheduleague.domain.MatchSlot;
 import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.MatchupTable;
 import org.scheduleague.domain.Team;
 import org.scheduleague.domain.Venue;
 
@@ -27,35 +39,112 @@ import jakarta.enterprise.context.Dependent;
 public class PlanningEntityBuilder {
 	
 	public List<Matchup> buildMatchups(Collection<Team> teams) {
-		final List<List<Team>> matchupSets = Generator.combination(teams).simple(2).stream().toList();
+		return buildMatchups(new MatchupTable(teams));
+	}
+
+	public List<Matchup> buildMatchups(MatchupTable matchupTable) {
+		final List<List<Team>> matchupSets = Generator.combination(matchupTable.getTeams()).simple(2).stream()
+				.toList();
 
 		final List<Matchup> matchups = new ArrayList<>();
 		for (int i = 0; i < matchupSets.size(); i++) {
 			final var matchupSet = matchupSets.get(i);
 			if (i % 2 == 0) {
-				matchups.add(new Matchup(matchupSet.get(0), matchupSet.get(1)));
+				matchups.add(matchupTable.get(matchupSet.get(0), matchupSet.get(1)));
 			} else {
-				matchups.add(new Matchup(matchupSet.get(1), matchupSet.get(0)));
+				matchups.add(matchupTable.get(matchupSet.get(1), matchupSet.get(0)));
 			}
 		}
 		return matchups;
 	}
 
+    public List<List<Matchup>> buildRounds(Collection<Team> teams) {
+        final Map<Set<Team>, Matchup> matchups = buildMatchups(teams).stream()
+                .collect(Collectors.toMap(m -> Set.of(m.homeTeam(), m.awayTeam()), Function.identity()));
+
+        // Circle method: the first team stays in place while the others rotate, a null team is a bye
+        final List<Team> circle = new ArrayList<>(teams);
+        if (circle.size() % 2 != 0) {
+            circle.add(null);
+        }
+
+        final List<List<Matchup>> rounds = new ArrayList<>();
+        for (int round = 0; round < circle.size() - 1; round++) {
+            final List<Matchup> pairs = new ArrayList<>();
+            for (int i = 0; i < circle.size() / 2; i++) {
+                final Team team1 = circle.get(i);
+                final Team team2 = circle.get(circle.size() - 1 - i);
+                if (team1 != null && team2 != null) {
+                    pairs.add(matchups.get(Set.of(team1, team2)));
+                }
+            }
+            rounds.add(pairs);
+            circle.add(1, circle.remove(circle.size() - 1));
+        }
+        return rounds;
+    }
+
     public List<Match> buildMatches(int weeks, LocalDate startDate, Collection<DayTimeSlots> dayTimeSlots,
             Collection<Venue> venues) {
+        return buildMatches(weeks, startDate, dayTimeSlots, venues, null, Set.of());
+    }
+
+    // The slots closed by the availability or given to another division are never built, so the solver does not
+    // search them
+    public List<Match> buildMatches(int weeks, LocalDate startDate, Collection<DayTimeSlots> dayTimeSlots,
+            Collection<Venue> venues, Availability availability, Set<MatchSlot> unavailableSlots) {
+        return buildMatches(weeks, startDate, dayTimeSlots, venues, availability, unavailableSlots, Set.of());
+    }
+
+    // The matches of the initial state were played, so their slots are built even where the availability closes them
+    public List<Match> buildMatches(Inputs inputs, Set<MatchSlot> unavailableSlots) {
+        final Set<Long> initialSlots = new HashSet<>();
+        if (inputs.initialState() != null) {
+            final InputMatches inputMatches = InputMatches.of(inputs.initialState());
+            for (int i = 0; i < inputMatches.size(); i++) {
+                initialSlots.add(slotKey(inputMatches.getDatetimeIndex(i), inputMatches.getVenueId(i)));
+            }
+        }
+        return buildMatches(inputs.weeks(), inputs.startDate(), inputs.dayTimeSlots(), inputs.venues(),
+                inputs.availability(), unavailableSlots, initialSlots);
+    }
+
+    private List<Match> buildMatches(int weeks, LocalDate startDate, Collection<DayTimeSlots> dayTimeSlots,
+            Collection<Venue> venues, Availability availability, Set<MatchSlot> unavailableSlots,
+            Set<Long> initialSlots) {
         final EnumMap<DayOfWeek, List<LocalTime>> dayTimes = new EnumMap<>(DayOfWeek.class);
         dayTimeSlots.forEach(d -> dayTimes.computeIfAbsent(d.day(), k -> new ArrayList<>()).addAll(d.startTimes()));
 
+        final Set<LocalDate> holidays = new HashSet<>();
+        final Map<Integer, VenueCalendar> calendars = new HashMap<>();
+        if (availability != null) {
+            if (availability.holidays() != null) {
+                holidays.addAll(availability.holidays());
+            }
+            if (availability.venues() != null) {
+                availability.venues().forEach(v -> calendars.put(v.venueId(), VenueCalendar.of(v)));
+            }
+        }
+
         final List<Match> matches = new ArrayList<>();
 
         int id = 0;
         final LocalDate endDate = startDate.plusWeeks(weeks);
         for (LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1)) {
             if (dayTimes.containsKey(date.getDayOfWeek())) {
+                final boolean holiday = holidays.contains(date);
                 final int week = (int) ChronoUnit.WEEKS.between(startDate, date) + 1;
                 for (final LocalTime time : dayTimes.get(date.getDayOfWeek())) {
+                    final LocalDateTime datetime = date.atTime(time);
                     for (final Venue venue : venues) {
-                        matches.add(new Match(id++, week, date.atTime(time), venue));
+                        final VenueCalendar calendar = calendars.get(venue.id());
+                        final boolean open = !holiday && (calendar == null || calendar.isOpen(date, time));
+                        final boolean played = !initialSlots.isEmpty()
+                                && initialSlots.contains(slotKey(datetime, venue.id()));
+                        if ((open || played) && (unavailableSlots.isEmpty()
+                                || !unavailableSlots.contains(new MatchSlot(datetime, venue.id())))) {
+                            matches.add(new Match(id++, week, datetime, venue));
+                        }
                     }
                 }
             }
@@ -64,29 +153,174 @@ public class PlanningEntityBuilder {
         return matches;
     }
 
-    public List<Match> addInitialState(Collection<Venue> venues, Collection<Team> teams,
-            Collection<InputMatch> initialState, List<Match> matches) {
+    // An added slot is open unless it is on a holiday or its venue is closed, like the slots of buildMatches
+    public boolean isOpen(Availability availability, LocalDateTime datetime, int venueId) {
+        if (availability == null) {
+            return true;
+        }
+        if (availability.holidays() != null && availability.holidays().contains(datetime.toLocalDate())) {
+            return false;
+        }
+        return availability.venues() == null || availability.venues().stream()
+                .filter(v -> v.venueId() == venueId)
+                .allMatch(v -> VenueCalendar.of(v).isOpen(datetime.toLocalDate(), datetime.toLocalTime()));
+    }
+
+    public List<Match> addInitialState(Collection<Team> teams, Collection<InputMatch> initialState,
+            List<Match> matches) {
+        return addInitialState(new MatchupTable(teams), initialState, matches);
+    }
+
+    // The initial state is read from its columns, so that no date/time is built for a match
+    public List<Match> addInitialState(MatchupTable matchupTable, Collection<InputMatch> initialState,
+            List<Match> matches) {
         if (initialState == null || initialState.isEmpty()) {
             return matches;
         }
-        
-        final Map<MatchKey, Match> allMatches = matches.stream()
-                .collect(Collectors.toMap(m -> new MatchKey(m.getDatetime(), m.getVenue()), Function.identity()));
+
+        final Map<Long, Match> allMatches = new HashMap<>();
+        for (Match match : matches) {
+            if (allMatches.put(slotKey(match.getDatetimeIndex(), match.getVenueId()), match) != null) {
+                throw new IllegalStateException(
+                        "Duplicate key " + match.getDatetime() + " at venue " + match.getVenueId());
+            }
+        }
+
+        final InputMatches inputMatches = InputMatches.of(initialState);
+        for (int i = 0; i < inputMatches.size(); i++) {
+            final Match match = allMatches.get(slotKey(inputMatches.getDatetimeIndex(i), inputMatches.getVenueId(i)));
+            if (match != null) {
+                final Matchup matchup = matchupTable.get(inputMatches.getHomeTeamId(i), inputMatches.getAwayTeamId(i));
+                if (matchup == null) {
+                    throw new IllegalStateException("Unknown matchup " + inputMatches.getHomeTeamId(i) + " vs "
+                            + inputMatches.getAwayTeamId(i) + " at " + match.getDatetime() + " at venue "
+                            + match.getVenueId());
+                }
+                match.setMatchup(matchup);
+                match.lock();
+            }
+        }
+
+        return allMatches.values().stream().sorted().toList();
+    }
+
+    // Divisions that share a venue cannot use the same slot, so each shared slot goes to one of the divisions
+    // that want it. The slot of an initial state match goes to its division, any other division gets none of its
+    // matches. Each remaining slot goes to the division with the smallest part of its shared slots so far, which
+    // splits them evenly over time.
+    public List<Set<MatchSlot>> allocateSharedSlots(List<Inputs> divisions) {
+        final Map<MatchSlot, Integer> initialSlots = new HashMap<>();
+        final Map<MatchSlot, List<Integer>> requests = new TreeMap<>(
+                Comparator.comparing(MatchSlot::datetime).thenComparingInt(MatchSlot::venueId));
+        for (int i = 0; i < divisions.size(); i++) {
+            final Inputs inputs = divisions.get(i);
+            if (inputs.initialState() != null) {
+                for (final InputMatch match : inputs.initialState()) {
+                    final MatchSlot slot = new MatchSlot(match.datetime(), match.venueId());
+                    final Integer owner = initialSlots.putIfAbsent(slot, i);
+                    if (owner != null && owner != i) {
+                        throw new IllegalArgumentException(String.format(
+                                "Divisions %d and %d both have an initial state match at %s in venue %d", owner, i,
+                                slot.datetime(), slot.venueId()));
+                    }
+                }
+            }
+            for (final Match match : buildMatches(inputs, Set.of())) {
+                requests.computeIfAbsent(new MatchSlot(match.getDatetime(), match.getVenueId()),
+                        k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        final List<Set<MatchSlot>> unavailableSlots = new ArrayList<>();
+        divisions.forEach(d -> unavailableSlots.add(new HashSet<>()));
+        final int[] shared = new int[divisions.size()];
+        requests.values().stream().filter(r -> r.size() > 1).flatMap(List::stream).forEach(i -> shared[i]++);
+
+        final int[] allocated = new int[divisions.size()];
+        requests.forEach((slot, requesters) -> {
+            final Integer owner = initialSlots.get(slot);
+            if (requesters.size() < 2 && (owner == null || requesters.contains(owner))) {
+                return;
+            }
+            final int winner = owner != null ? owner
+                    : requesters.stream()
+                            .min(Comparator.comparingDouble(i -> (double) allocated[i] / shared[i]))
+                            .orElseThrow();
+            if (requesters.size() > 1) {
+                allocated[winner]++;
+            }
+            requesters.stream().filter(i -> i != winner).forEach(i -> unavailableSlots.get(i).add(slot));
+        });
+        return unavailableSlots;
+    }
+
+    // The matchups of a previous schedule are kept as unlocked initial values where their slot and teams still exist
+    public List<Match> addPreviousMatches(Collection<Venue> venues, Collection<Team> teams,
+            Collection<Match> previousMatches, List<Match> matches) {
+        return addPreviousMatches(venues, new MatchupTable(teams), previousMatches, matches);
+    }
+
+    public List<Match> addPreviousMatches(Collection<Venue> venues, MatchupTable matchupTable,
+            Collection<Match> previousMatches, List<Match> matches) {
+        if (previousMatches == null || previousMatches.isEmpty()) {
+            return matches;
+        }
 
         final Map<Integer, Venue> venueMapper = venues.stream()
                 .collect(Collectors.toMap(Venue::id, Function.identity()));
-        final Map<Integer, Team> teamMapper = teams.stream().collect(Collectors.toMap(Team::id, Function.identity()));
-        for (InputMatch match : initialState) {
-            final Venue venue = venueMapper.get(match.venueId());
-            final MatchKey key = new MatchKey(match.datetime(), venue);
-            allMatches.computeIfPresent(key,
-                    (k, v) -> match.toMatch(v.getId(), v.getWeek(), venueMapper::get, teamMapper::get));
+        final Map<MatchKey, Matchup> previousMatchups = new HashMap<>();
+        for (Match match : previousMatches) {
+            if (match.getVenue() == null || match.getMatchup() == null) {
+                continue;
+            }
+            final Venue venue = venueMapper.get(match.getVenue().id());
+            final Matchup matchup = matchupTable.get(match.getMatchup().homeTeamId(),
+                    match.getMatchup().awayTeamId());
+            if (venue != null && matchup != null) {
+                previousMatchups.put(new MatchKey(match.getDatetime(), venue), matchup);
+            }
         }
 
-        return allMatches.values().stream().sorted().toList();
+        for (Match match : matches) {
+            if (!match.isLocked() && match.getMatchup() == null) {
+                match.setMatchup(previousMatchups.get(new MatchKey(match.getDatetime(), match.getVenue())));
+            }
+        }
+        return matches;
+    }
+
+    private static long slotKey(LocalDateTime datetime, int venueId) {
+        return slotKey((int) Math.floorDiv(datetime.toEpochSecond(ZoneOffset.UTC), 60), venueId);
+    }
+
+    private static long slotKey(int datetimeIndex, int venueId) {
+        return ((long) datetimeIndex << 32) | (venueId & 0xFFFFFFFFL);
     }
 
     private record MatchKey(LocalDateTime datetime, Venue venue) {
 
     }
+
+    // A venue without its own slots is open at every slot of the league that is not on a blackout date
+    private record VenueCalendar(Set<LocalDate> blackoutDates, EnumMap<DayOfWeek, Set<LocalTime>> dayTimes) {
+
+        static VenueCalendar of(VenueAvailability availability) {
+            final Set<LocalDate> blackoutDates = availability.blackoutDates() == null ? Set.of()
+                    : new HashSet<>(availability.blackoutDates());
+            if (availability.dayTimeSlots() == null) {
+                return new VenueCalendar(blackoutDates, null);
+            }
+            final EnumMap<DayOfWeek, Set<LocalTime>> dayTimes = new EnumMap<>(DayOfWeek.class);
+            availability.dayTimeSlots().forEach(
+                    d -> dayTimes.computeIfAbsent(d.day(), k -> new HashSet<>()).addAll(d.startTimes()));
+            return new VenueCalendar(blackoutDates, dayTimes);
+        }
+
+        boolean isOpen(LocalDate date, LocalTime time) {
+            if (blackoutDates.contains(date)) {
+                return false;
+            }
+            return dayTimes == null || dayTimes.getOrDefault(date.getDayOfWeek(), Set.of()).contains(time);
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package org.scheduleague.solver;
+
+// Thrown when a job cannot even wait for a solver, the client should retry later
+public class QueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public QueueFullException(String message) {
+        super(message);
+    }
+}
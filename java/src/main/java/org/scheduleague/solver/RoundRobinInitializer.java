@@ -0,0 +1,101 @@
+package org.scheduleague.solver;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.domain.Team;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.phase.custom.CustomPhaseCommand;
+
+// Assigns the empty matches in round robin order. Without rounds, for fewer than 2 teams, the matches are left to
+// the construction heuristic after this phase.
+public class RoundRobinInitializer implements CustomPhaseCommand<Schedule> {
+
+    private final PlanningEntityBuilder planningEntityBuilder = new PlanningEntityBuilder();
+
+    @Override
+    public void changeWorkingSolution(ScoreDirector<Schedule> scoreDirector) {
+        final Schedule schedule = scoreDirector.getWorkingSolution();
+        final List<Match> matches = schedule.getMatches().stream().sorted().toList();
+
+        if (matches.stream().allMatch(m -> m.getMatchup() != null)) {
+            return;
+        }
+
+        // The rounds are mapped onto the matchups of the value range
+        final Map<Set<Team>, Matchup> matchups = new HashMap<>();
+        schedule.getMatchups().forEach(m -> matchups.putIfAbsent(pair(m), m));
+        final List<Matchup> rounds = planningEntityBuilder.buildRounds(schedule.getTeams()).stream()
+                .flatMap(List::stream)
+                .map(m -> matchups.get(pair(m)))
+                .filter(Objects::nonNull)
+                .toList();
+        if (rounds.isEmpty()) {
+            return;
+        }
+
+        // Repeat the round robin to cover all matches, minus the matchups that are already scheduled
+        final List<Matchup> remaining = new ArrayList<>();
+        for (int i = 0; i < matches.size(); i += rounds.size()) {
+            remaining.addAll(rounds);
+        }
+        matches.stream()
+                .filter(m -> m.getMatchup() != null)
+                .forEach(m -> remaining.remove(matchups.get(pair(m.getMatchup()))));
+
+        final Map<LocalDate, Map<Team, Integer>> dayCounts = new HashMap<>();
+        final Map<LocalDateTime, Map<Team, Integer>> datetimeCounts = new HashMap<>();
+        matches.stream().filter(m -> m.getMatchup() != null).forEach(m -> {
+            count(dayCounts.computeIfAbsent(m.getDatetime().toLocalDate(), k -> new HashMap<>()), m.getMatchup());
+            count(datetimeCounts.computeIfAbsent(m.getDatetime(), k -> new HashMap<>()), m.getMatchup());
+        });
+
+        final int maxMatchPerDay = schedule.getConstraints().maxMatchPerDay();
+        for (final Match match : matches) {
+            if (match.isLocked() || match.getMatchup() != null) {
+                continue;
+            }
+
+            // Take the next matchup in round order that keeps the day feasible
+            final Map<Team, Integer> day = dayCounts.computeIfAbsent(match.getDatetime().toLocalDate(),
+                    k -> new HashMap<>());
+            final Map<Team, Integer> datetime = datetimeCounts.computeIfAbsent(match.getDatetime(),
+                    k -> new HashMap<>());
+            final Matchup matchup = remaining.stream()
+                    .filter(m -> fits(datetime, m, 1) && (maxMatchPerDay <= 0 || fits(day, m, maxMatchPerDay)))
+                    .findFirst()
+                    .orElse(remaining.get(0));
+            remaining.remove(matchup);
+
+            scoreDirector.beforeVariableChanged(match, "matchup");
+            match.setMatchup(matchup);
+            scoreDirector.afterVariableChanged(match, "matchup");
+            count(day, matchup);
+            count(datetime, matchup);
+        }
+        scoreDirector.triggerVariableListeners();
+    }
+
+    private static Set<Team> pair(Matchup matchup) {
+        return Set.of(matchup.homeTeam(), matchup.awayTeam());
+    }
+
+    private static boolean fits(Map<Team, Integer> counts, Matchup matchup, int max) {
+        return counts.getOrDefault(matchup.homeTeam(), 0) < max && counts.getOrDefault(matchup.awayTeam(), 0) < max;
+    }
+
+    private static void count(Map<Team, Integer> counts, Matchup matchup) {
+        counts.merge(matchup.homeTeam(), 1, Integer::sum);
+        counts.merge(matchup.awayTeam(), 1, Integer::sum);
+    }
+}
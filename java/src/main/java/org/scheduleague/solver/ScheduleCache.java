@@ -0,0 +1,296 @@
+package org.scheduleague.solver;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Inputs.Availability;
+import org.scheduleague.domain.Inputs.DayTimeSlots;
+import org.scheduleague.domain.Inputs.InputMatch;
+import org.scheduleague.domain.Inputs.VenueAvailability;
+import org.scheduleague.domain.Match;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.io.jaxb.SolverConfigIO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+// Caches generated matches by their inputs. Only REPRODUCIBLE solves, seeded and stopped by a score calculation count,
+// give the same matches for the same inputs. DEFAULT solves stop on time, so a cached schedule is one of their results.
+@ApplicationScoped
+public class ScheduleCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ScheduleCache.class);
+
+    // Keys are also given by clients to warm start from a cached schedule, so they are checked before a file lookup
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    SolverConfig solverConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "scheduleague.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    // The cache size is counted in matches, so that a large league takes the room of several small ones
+    @ConfigProperty(name = "scheduleague.cache.max-matches", defaultValue = "100000")
+    long maxMatches;
+
+    @ConfigProperty(name = "scheduleague.cache.ttl", defaultValue = "PT24H")
+    Duration ttl;
+
+    @ConfigProperty(name = "scheduleague.cache.directory")
+    Optional<Path> directory;
+
+    @ConfigProperty(name = "scheduleague.solver.parallel-partitions", defaultValue = "false")
+    boolean parallelPartitions;
+
+    @ConfigProperty(name = "scheduleague.solver.portfolio-size", defaultValue = "1")
+    int portfolioSize;
+
+    // The termination settings change the matches of the same inputs, so they are part of the key
+    @ConfigProperty(name = "scheduleague.termination.adaptive", defaultValue = "true")
+    boolean adaptive;
+
+    @ConfigProperty(name = "scheduleague.termination.spent-limit-per-assignment", defaultValue = "PT0.005S")
+    Duration spentLimitPerAssignment;
+
+    @ConfigProperty(name = "scheduleague.termination.min-spent-limit", defaultValue = "PT1S")
+    Duration minSpentLimit;
+
+    @ConfigProperty(name = "scheduleague.termination.max-spent-limit", defaultValue = "PT10M")
+    Duration maxSpentLimit;
+
+    @ConfigProperty(name = "scheduleague.termination.min-soft-improvement-per-second", defaultValue = "100")
+    long minSoftImprovementPerSecond;
+
+    @ConfigProperty(name = "scheduleague.termination.score-calculations-per-assignment", defaultValue = "20")
+    long scoreCalculationsPerAssignment;
+
+    Clock clock = Clock.systemUTC();
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long matches;
+
+    private ObjectMapper keyMapper;
+    private String solverConfigHash;
+
+    @PostConstruct
+    void init() {
+        // The key mapper writes the dates like the injected one, with the same modules found on the class path
+        keyMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .disable(SerializationFeature.INDENT_OUTPUT)
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        objectMapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS))
+                .build();
+
+        final StringWriter writer = new StringWriter();
+        new SolverConfigIO().write(solverConfig, writer);
+        solverConfigHash = hash(writer + "\nparallelPartitions=" + parallelPartitions
+                + "\nportfolioSize=" + portfolioSize
+                + "\nadaptive=" + adaptive
+                + "\nspentLimitPerAssignment=" + spentLimitPerAssignment
+                + "\nminSpentLimit=" + minSpentLimit
+                + "\nmaxSpentLimit=" + maxSpentLimit
+                + "\nminSoftImprovementPerSecond=" + minSoftImprovementPerSecond
+                + "\nscoreCalculationsPerAssignment=" + scoreCalculationsPerAssignment);
+
+        Gauge.builder("scheduleague.cache.matches", this, ScheduleCache::size)
+                .description("The number of matches held in the memory cache")
+                .register(meterRegistry);
+    }
+
+    public Optional<List<Match>> get(Inputs inputs) {
+        return get(key(inputs));
+    }
+
+    public Optional<List<Match>> get(String key) {
+        if (!enabled || !KEY_PATTERN.matcher(key).matches()) {
+            return Optional.empty();
+        }
+
+        final Instant now = clock.instant();
+        synchronized (this) {
+            final Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt().isAfter(now)) {
+                count("memory", "hit");
+                return Optional.of(entry.matches());
+            } else if (entry != null) {
+                remove(key);
+            }
+        }
+        count("memory", "miss");
+
+        final Optional<List<Match>> diskMatches = directory.flatMap(d -> read(d.resolve(key + ".json"), now));
+        if (diskMatches.isPresent()) {
+            count("disk", "hit");
+            store(key, diskMatches.get(), now);
+        } else if (directory.isPresent()) {
+            count("disk", "miss");
+        }
+        return diskMatches;
+    }
+
+    public void put(Inputs inputs, List<Match> matches) {
+        if (!enabled) {
+            return;
+        }
+
+        final String key = key(inputs);
+        store(key, matches, clock.instant());
+        directory.ifPresent(d -> write(d.resolve(key + ".json"), matches));
+    }
+
+    synchronized long size() {
+        return matches;
+    }
+
+    // Inputs that only differ in the order of their collections have the same key
+    public String key(Inputs inputs) {
+        final Inputs normalized = new Inputs(inputs.weeks(), inputs.startDate(),
+                normalize(inputs.dayTimeSlots()),
+                inputs.venues().stream().sorted().toList(),
+                inputs.teams().stream().sorted().toList(),
+                inputs.constraints(),
+                inputs.initialState() == null ? List.of()
+                        : inputs.initialState().stream()
+                                .sorted(Comparator.comparing(InputMatch::datetime)
+                                        .thenComparingInt(InputMatch::venueId))
+                                .toList(),
+                inputs.previousMatches() == null ? List.of() : inputs.previousMatches().stream().sorted().toList(),
+                inputs.previousScheduleId(),
+                inputs.termination(),
+                normalize(inputs.availability()));
+        try {
+            return hash(keyMapper.writeValueAsString(normalized) + "\n" + solverConfigHash);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize the inputs", e);
+        }
+    }
+
+    private static List<DayTimeSlots> normalize(Collection<DayTimeSlots> dayTimeSlots) {
+        return dayTimeSlots == null ? null
+                : dayTimeSlots.stream()
+                        .map(d -> new DayTimeSlots(d.day(), d.startTimes().stream().sorted().toList()))
+                        .sorted(Comparator.comparing(DayTimeSlots::day))
+                        .toList();
+    }
+
+    private static Availability normalize(Availability availability) {
+        if (availability == null) {
+            return null;
+        }
+        return new Availability(
+                availability.holidays() == null ? null : availability.holidays().stream().sorted().toList(),
+                availability.venues() == null ? null
+                        : availability.venues().stream()
+                                .map(v -> new VenueAvailability(v.venueId(),
+                                        v.blackoutDates() == null ? null : v.blackoutDates().stream().sorted().toList(),
+                                        normalize(v.dayTimeSlots())))
+                                .sorted(Comparator.comparingInt(VenueAvailability::venueId))
+                                .toList());
+    }
+
+    private synchronized void store(String key, List<Match> matches, Instant now) {
+        remove(key);
+        entries.put(key, new Entry(matches, now.plus(ttl)));
+        this.matches += matches.size();
+
+        // Evict the least recently used entries until the cache fits again
+        final Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (this.matches > maxMatches && iterator.hasNext()) {
+            final Entry evicted = iterator.next().getValue();
+            iterator.remove();
+            this.matches -= evicted.matches().size();
+        }
+    }
+
+    private void remove(String key) {
+        final Entry removed = entries.remove(key);
+        if (removed != null) {
+            matches -= removed.matches().size();
+        }
+    }
+
+    private Optional<List<Match>> read(Path file, Instant now) {
+        try {
+            if (!Files.exists(file)) {
+                return Optional.empty();
+            }
+            if (Files.getLastModifiedTime(file).toInstant().plus(ttl).isBefore(now)) {
+                Files.deleteIfExists(file);
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(file.toFile(), new TypeReference<List<Match>>() {
+            }));
+        } catch (IOException e) {
+            LOGGER.warnf(e, "Failed to read cached matches from %s", file);
+            return Optional.empty();
+        }
+    }
+
+    private void write(Path file, List<Match> matches) {
+        try {
+            Files.createDirectories(file.getParent());
+            final Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temporary.toFile(), matches);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warnf(e, "Failed to write cached matches to %s", file);
+        }
+    }
+
+    private void count(String tier, String result) {
+        meterRegistry.counter("scheduleague.cache.gets", "tier", tier, "result", result).increment();
+    }
+
+    private static String hash(String value) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(List<Match> matches, Instant expiresAt) {
+    }
+}
@@ -1,21 +1,21 @@
 package org.scheduleague.solver;
 
-import java.math.BigDecimal;
-import java.time.DayOfWeek;
-import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.function.Function;
 
 import org.scheduleague.domain.Constraints;
 import org.scheduleague.domain.Match;
-import org.scheduleague.domain.Team;
 
-import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
 import ai.timefold.solver.core.api.score.stream.Constraint;
 import ai.timefold.solver.core.api.score.stream.ConstraintCollectors;
 import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
 import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
 import ai.timefold.solver.core.api.score.stream.Joiners;
+import ai.timefold.solver.core.api.score.stream.bi.BiConstraintStream;
 import ai.timefold.solver.core.api.score.stream.common.LoadBalance;
+import ai.timefold.solver.core.api.score.stream.common.Sequence;
+import ai.timefold.solver.core.api.score.stream.common.SequenceChain;
 
 public class ScheduleConstraintProvider implements ConstraintProvider {
     
@@ -30,6 +30,11 @@ public class ScheduleConstraintProvider implements ConstraintProvider {
     public static final String TEAM_DAY_BALANCING_CONSTRAINT = "Team day balancing";
     public static final String TEAM_DAY_TIME_BALANCING_CONSTRAINT = "Team day+time balancing";
     public static final String TEAM_VENUE_BALANCING_CONSTRAINT = "Team venue balancing";
+    public static final String TEAM_BYE_BALANCING_CONSTRAINT = "Team bye balancing";
+    public static final String TEAM_BYE_SEPARATION_CONSTRAINT = "Team bye separation";
+    
+    // Soft match weights are scaled to keep 2 decimal places of the fractional penalties as longs
+    static final long SOFT_SCALE = 100L;
 
     @Override
     public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
@@ -40,10 +45,12 @@ public class ScheduleConstraintProvider implements ConstraintProvider {
                 // Soft constraints
                 matchupRepeat(constraintFactory),
                 teamOpponentBalancing(constraintFactory),
-                //maxMatchupSeparation(constraintFactory),
+                matchupSeparation(constraintFactory),
                 teamDayBalancing(constraintFactory),
                 teamDayTimeBalancing(constraintFactory),
-                teamVenueBalancing(constraintFactory)
+                teamVenueBalancing(constraintFactory),
+                teamByeBalancing(constraintFactory),
+                teamByeSeparation(constraintFactory)
         };
     }
     
@@ -52,107 +59,155 @@ public class ScheduleConstraintProvider implements ConstraintProvider {
         return constraintFactory
                 // Select each pair of 2 matches
                 .forEachUniquePair(Match.class,
-                        Joiners.equal(Match::getDatetime),
+                        Joiners.equal(Match::getDatetimeIndex),
                         Joiners.filtering(Match::anyTeamsEqual))
                 // penalize with a hard weight
-                .penalizeBigDecimal(HardSoftBigDecimalScore.ONE_HARD)
+                .penalizeLong(HardSoftLongScore.ONE_HARD)
                 .asConstraint(TEAM_DATETIME_CONSTRAINT);
     }
     
     Constraint teamMaxMatchesPerDay(ConstraintFactory constraintFactory) {
         // A team is not allowed to play more than the alloted matches per day
-        return constraintFactory
-                .forEach(Match.class)
-                .join(Match.class, Joiners.equal(m -> m.getDatetime().toLocalDate()))
-                .join(Team.class, Joiners.filtering((m1, m2, t) -> m1.containsTeam(t) && m2.containsTeam(t)))
-                .groupBy(ConstraintCollectors.countTri())
+        return teamMatches(constraintFactory)
+                // count the matches of each team per day
+                .groupBy((t, m) -> t, (t, m) -> m.getDayIndex(), ConstraintCollectors.countBi())
                 .join(Constraints.class)
-                .filter((i, c) -> c.maxMatchPerDay() > 0 && i > c.maxMatchPerDay())
-                // penalize with a hard weight
-                .penalizeBigDecimal(HardSoftBigDecimalScore.ONE_HARD)
+                .filter((t, d, i, c) -> c.maxMatchPerDay() > 0 && i > c.maxMatchPerDay())
+                // penalize with a hard weight for each match over the maximum
+                .penalizeLong(HardSoftLongScore.ONE_HARD, (t, d, i, c) -> i - c.maxMatchPerDay())
                 .asConstraint(TEAM_MAX_MATCHES_PER_DAY_CONSTRAINT);
     }
     
-//    Constraint teamMaxByeSeparation(ConstraintFactory constraintFactory) {
-//        // A team should prefer byes further from the previous
-//        return constraintFactory
-//                .forEach(Team.class)
-//                .join(Match.class, Joiners.filtering((t, m) ->  m.containsTeam(t)))
-//                .groupBy((t, m) -> m.getWeek(), ConstraintCollectors.countBi())
-//                .filter((w, i) -> i == 0)
-//                .
-//                .rewardBigDecimal(HardSoftBigDecimalScore.ONE_SOFT, (w1, w2) -> BigDecimal.valueOf(w1 - w2).abs())
-//                .asConstraint("Team bye separation");
-//    }
-    
     Constraint matchupRepeat(ConstraintFactory constraintFactory) {
         // A matchup should be repeated as few times as possible
         return constraintFactory
-                .forEachUniquePair(Match.class, Joiners.filtering(Match::teamsEqual))
+                .forEachUniquePair(Match.class, Joiners.equal(Match::getMatchupKey))
                 // penalize with a soft weight
-                .penalizeBigDecimal(HardSoftBigDecimalScore.ofSoft(BigDecimal.valueOf(100_000L)))
+                .penalizeLong(HardSoftLongScore.ofSoft(100_000L * SOFT_SCALE))
                 .asConstraint(MATCHUP_REPEAT_CONSTRAINT);
     }
     
     Constraint teamOpponentBalancing(ConstraintFactory constraintFactory) {
         // A team should be balanced across opponents
-        return constraintFactory
-                .forEach(Team.class)
-                .join(Match.class, Joiners.filtering((t, m) ->  m.containsTeam(t)))
-                .groupBy(ConstraintCollectors.loadBalance((t, m) -> m.getOpponent(t)))
+        return teamMatches(constraintFactory)
+                .groupBy(ConstraintCollectors.loadBalance((t, m) -> m.getOpponentId(t)))
                 // penalize with a soft weight
-                .penalizeBigDecimal(HardSoftBigDecimalScore.ofSoft(BigDecimal.valueOf(10_000L)), LoadBalance::unfairness)
+                .penalizeLong(HardSoftLongScore.ofSoft(10_000L), ScheduleConstraintProvider::scaledUnfairness)
                 .asConstraint(TEAM_OPPONENT_BALANCING_CONSTRAINT);
     }
     
     Constraint matchupSeparation(ConstraintFactory constraintFactory) {
         // A matchup between 2 specific teams should prefer reoccurring further from the previous 
         return constraintFactory
-                .forEachUniquePair(Match.class, Joiners.filtering(Match::teamsEqual))
-                // reward matches with the same matchups that are further apart
-                .penalizeBigDecimal(HardSoftBigDecimalScore.ofSoft(BigDecimal.valueOf(1_000L)), (m1, m2) -> {
-                    final long separationDays = m1.getDatetime().until(m2.getDatetime(), ChronoUnit.DAYS);
-                    return BigDecimal.valueOf(1.0 - (separationDays * 0.01));
+                .forEach(Match.class)
+                .join(Match.class,
+                        Joiners.equal(Match::getMatchupKey),
+                        Joiners.lessThan(Match::getDatetimeIndex))
+                // only compare each match with the next occurrence of its matchup
+                .ifNotExists(Match.class,
+                        Joiners.equal((m1, m2) -> m1.getMatchupKey(), Match::getMatchupKey),
+                        Joiners.lessThan((m1, m2) -> m1.getDatetimeIndex(), Match::getDatetimeIndex),
+                        Joiners.greaterThan((m1, m2) -> m2.getDatetimeIndex(), Match::getDatetimeIndex))
+                // penalize matches with the same matchups that are closer together
+                .penalizeLong(HardSoftLongScore.ofSoft(1_000L), (m1, m2) -> {
+                    final long separationDays = m2.getDayIndex() - m1.getDayIndex();
+                    return Math.max(0L, SOFT_SCALE - (separationDays * SOFT_SCALE / 100));
                 })
                 .asConstraint(MATCHUP_SEPARATION_CONSTRAINT);
     }
     
     Constraint teamDayBalancing(ConstraintFactory constraintFactory) {
         // A team should be balanced across days
-        return constraintFactory
-                .forEach(Team.class)
-                .join(Match.class, Joiners.filtering((t, m) ->  m.containsTeam(t)))
-                .groupBy(ConstraintCollectors.loadBalance((t, m) -> m.getDatetime().getDayOfWeek()))
+        return teamMatches(constraintFactory)
+                .groupBy(ConstraintCollectors.loadBalance((t, m) -> m.getDayOfWeekIndex()))
                 // penalize with a soft weight
-                .penalizeBigDecimal(HardSoftBigDecimalScore.ONE_SOFT, LoadBalance::unfairness)
+                .penalizeLong(HardSoftLongScore.ONE_SOFT, ScheduleConstraintProvider::scaledUnfairness)
                 .asConstraint(TEAM_DAY_BALANCING_CONSTRAINT);
     }
     
     Constraint teamDayTimeBalancing(ConstraintFactory constraintFactory) {
         // A team should be balanced across day/time pairs
-        return constraintFactory
-                .forEach(Team.class)
-                .join(Match.class, Joiners.filtering((t, m) ->  m.containsTeam(t)))
-                .groupBy(ConstraintCollectors.loadBalance((t, m) -> new DayTime(m)))
+        return teamMatches(constraintFactory)
+                .groupBy(ConstraintCollectors.loadBalance((t, m) -> m.getDayTimeIndex()))
                 // penalize with a soft weight
-                .penalizeBigDecimal(HardSoftBigDecimalScore.ONE_SOFT, LoadBalance::unfairness)
+                .penalizeLong(HardSoftLongScore.ONE_SOFT, ScheduleConstraintProvider::scaledUnfairness)
                 .asConstraint(TEAM_DAY_TIME_BALANCING_CONSTRAINT);
     }
     
     Constraint teamVenueBalancing(ConstraintFactory constraintFactory) {
         // A team should be balanced across venues
-        return constraintFactory
-                .forEach(Team.class)
-                .join(Match.class, Joiners.filtering((t, m) ->  m.containsTeam(t)))
-                .groupBy(ConstraintCollectors.loadBalance((t, m) -> m.getVenue()))
+        return teamMatches(constraintFactory)
+                .groupBy(ConstraintCollectors.loadBalance((t, m) -> m.getVenueId()))
                 // penalize with a soft weight
-                .penalizeBigDecimal(HardSoftBigDecimalScore.ONE_SOFT, LoadBalance::unfairness)
+                .penalizeLong(HardSoftLongScore.ONE_SOFT, ScheduleConstraintProvider::scaledUnfairness)
                 .asConstraint(TEAM_VENUE_BALANCING_CONSTRAINT);
     }
     
-    private record DayTime(DayOfWeek day, LocalTime time) {
-        public DayTime(Match match) {
-            this(match.getDatetime().getDayOfWeek(), match.getDatetime().toLocalTime());
+    Constraint teamByeBalancing(ConstraintFactory constraintFactory) {
+        // A team should have as many byes as the others, so as many weeks with a match
+        return teamMatches(constraintFactory)
+                // count the weeks each team plays in
+                .groupBy((t, m) -> t, ConstraintCollectors.countDistinct((t, m) -> m.getWeek()))
+                .groupBy(ConstraintCollectors.loadBalance((t, w) -> t, (t, w) -> w))
+                // penalize with a soft weight
+                .penalizeLong(HardSoftLongScore.ofSoft(100L), ScheduleConstraintProvider::scaledUnfairness)
+                .asConstraint(TEAM_BYE_BALANCING_CONSTRAINT);
+    }
+
+    Constraint teamByeSeparation(ConstraintFactory constraintFactory) {
+        // A team should prefer byes further from the previous, the weeks before the first and after the last
+        // match of a team are not known to be byes
+        return teamMatches(constraintFactory)
+                // collect the weeks of each team into runs of played weeks, the breaks between the runs are byes
+                .groupBy((t, m) -> t, ConstraintCollectors.toConsecutiveSequences((t, m) -> m.getWeek(),
+                        Integer::intValue))
+                // penalize consecutive byes and byes with few played weeks between them
+                .penalizeLong(HardSoftLongScore.ONE_SOFT, (t, w) -> byeSeparationPenalty(w))
+                .asConstraint(TEAM_BYE_SEPARATION_CONSTRAINT);
+    }
+
+    static long byeSeparationPenalty(SequenceChain<Integer, Integer> weeks) {
+        // The runs of played weeks are summed in place, rather than flattened into a tuple each that would all be
+        // retracted and inserted again on every change to the weeks of the team
+        long penalty = 0L;
+        for (final Sequence<Integer, Integer> sequence : weeks.getConsecutiveSequences()) {
+            if (sequence.isFirst()) {
+                continue;
+            }
+            // A break of 2 is a single bye week, each week over it is a consecutive bye
+            penalty += (sequence.getPreviousBreak().getLength() - 2) * SOFT_SCALE;
+            if (!sequence.isLast()) {
+                penalty += SOFT_SCALE / sequence.getLength();
+            }
+        }
+        return penalty;
+    }
+
+    // The unfairness of LoadBalance is the square root of the squared deviation of the loads from their mean.
+    // It is computed from the loads, n times the squared deviation is exact in longs, so that no BigDecimal is
+    // built on every evaluation.
+    static long scaledUnfairness(LoadBalance<?> balance) {
+        final Collection<Long> loads = balance.loads().values();
+        final int n = loads.size();
+        if (n < 2) {
+            return 0L;
         }
+        long sum = 0L;
+        long sumOfSquares = 0L;
+        for (final long load : loads) {
+            sum += load;
+            sumOfSquares += load * load;
+        }
+        return Math.round(SOFT_SCALE * Math.sqrt((double) (n * sumOfSquares - sum * sum) / n));
+    }
+    
+    BiConstraintStream<Integer, Match> teamMatches(ConstraintFactory constraintFactory) {
+        // Expand each match into a tuple for each of its team ids, so that downstream joins and groups are indexed
+        return constraintFactory
+                .forEach(Match.class)
+                .map(m -> m.getMatchup().homeTeamId(), Function.identity())
+                .concat(constraintFactory
+                        .forEach(Match.class)
+                        .map(m -> m.getMatchup().awayTeamId(), Function.identity()));
     }
 }
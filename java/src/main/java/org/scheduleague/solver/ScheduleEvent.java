@@ -0,0 +1,20 @@
+package org.scheduleague.solver;
+
+import java.util.List;
+
+import org.scheduleague.domain.Match;
+import org.scheduleague.solver.ScheduleJob.Status;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+// The matches of an event are those that changed since the previous event, or all matches for a snapshot
+public record ScheduleEvent(Type type, Status status, int partition, HardSoftLongScore score, List<Match> matches) {
+
+    public enum Type {
+        SNAPSHOT,
+        BEST_SOLUTION,
+        PARTITION_COMPLETED,
+        RECONCILIATION_COMPLETED,
+        JOB_COMPLETED
+    }
+}
@@ -0,0 +1,230 @@
+package org.scheduleague.solver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+
+public class ScheduleJob {
+
+    public enum Status {
+        SCHEDULED,
+        SOLVING,
+        RECONCILING,
+        COMPLETED,
+        TERMINATED,
+        FAILED
+    }
+
+    private final UUID id;
+    private final int partitions;
+
+    private volatile Status status = Status.SCHEDULED;
+    private volatile int partition;
+    private volatile HardSoftLongScore score;
+    private volatile List<Match> matches = List.of();
+    private volatile String error;
+    private volatile boolean terminated;
+
+    private final Map<UUID, Integer> problemPartitions = new ConcurrentHashMap<>();
+    private final Set<Integer> solvedPartitions = ConcurrentHashMap.newKeySet();
+    private final List<MultiEmitter<? super ScheduleEvent>> emitters = new ArrayList<>();
+    private final Map<Integer, Matchup> emittedMatchups = new HashMap<>();
+    private final Map<Integer, List<Match>> partitionMatches = new ConcurrentSkipListMap<>();
+
+    @JsonIgnore
+    private final CompletableFuture<List<Match>> result = new CompletableFuture<>();
+
+    public ScheduleJob(UUID id, int partitions) {
+        this.id = id;
+        this.partitions = partitions;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public HardSoftLongScore getScore() {
+        return score;
+    }
+
+    public List<Match> getMatches() {
+        return matches;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @JsonIgnore
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    @JsonIgnore
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    @JsonIgnore
+    public CompletableFuture<List<Match>> getResult() {
+        return result;
+    }
+
+    // New subscribers get a snapshot of the best matches so far, followed by the changes
+    public void subscribe(MultiEmitter<? super ScheduleEvent> emitter) {
+        synchronized (emitters) {
+            emitter.emit(new ScheduleEvent(ScheduleEvent.Type.SNAPSHOT, status, partition, score, matches));
+            if (isDone()) {
+                emitter.emit(new ScheduleEvent(ScheduleEvent.Type.JOB_COMPLETED, status, partition, score, List.of()));
+                emitter.complete();
+                return;
+            }
+            emitters.add(emitter);
+            emitter.onTermination(() -> {
+                synchronized (emitters) {
+                    emitters.remove(emitter);
+                }
+            });
+        }
+    }
+
+    Set<UUID> getProblemIds() {
+        return problemPartitions.keySet();
+    }
+
+    // The members of a portfolio all solve the same partition
+    Map<UUID, Integer> getProblemPartitions() {
+        return Map.copyOf(problemPartitions);
+    }
+
+    boolean isSolved(int partition) {
+        return solvedPartitions.contains(partition);
+    }
+
+    synchronized boolean startSolving(int partition, UUID problemId) {
+        if (terminated) {
+            return false;
+        }
+        // The reconciliation after the last partition solves across all of them
+        if (partition < partitions) {
+            this.partition = partition;
+            this.status = Status.SOLVING;
+        } else {
+            this.partition = partitions - 1;
+            this.status = Status.RECONCILING;
+        }
+        problemPartitions.put(problemId, partition);
+        return true;
+    }
+
+    // A partition is solved once the last member of its portfolio finished
+    synchronized void finishSolving(UUID problemId) {
+        final Integer partition = problemPartitions.remove(problemId);
+        if (partition != null && !problemPartitions.containsValue(partition)) {
+            solvedPartitions.add(partition);
+        }
+    }
+
+    synchronized Set<UUID> terminate() {
+        terminated = true;
+        return Set.copyOf(problemPartitions.keySet());
+    }
+
+    void updateBestSolution(Schedule solution) {
+        this.score = solution.getScore();
+        this.matches = solution.getMatches();
+        publish(ScheduleEvent.Type.BEST_SOLUTION, solution.getMatches());
+    }
+
+    // Partitions solved concurrently each only hold their own matches
+    void updateBestSolution(int partition, Schedule solution) {
+        partitionMatches.put(partition, solution.getMatches());
+        this.score = solution.getScore();
+        this.matches = partitionMatches.values().stream().flatMap(List::stream).sorted().toList();
+        publish(ScheduleEvent.Type.BEST_SOLUTION, solution.getMatches());
+    }
+
+    void completePartition(int partition) {
+        if (partition < partitions) {
+            publish(ScheduleEvent.Type.PARTITION_COMPLETED, partition, List.of());
+        } else {
+            publish(ScheduleEvent.Type.RECONCILIATION_COMPLETED, partitions - 1, List.of());
+        }
+    }
+
+    void complete(List<Match> matches) {
+        this.matches = matches;
+        this.status = terminated ? Status.TERMINATED : Status.COMPLETED;
+        result.complete(matches);
+        publishCompleted(matches);
+    }
+
+    void fail(Throwable throwable) {
+        this.error = throwable.getMessage();
+        this.status = Status.FAILED;
+        result.completeExceptionally(throwable);
+        publishCompleted(List.of());
+    }
+
+    private void publish(ScheduleEvent.Type type, List<Match> matches) {
+        publish(type, partition, matches);
+    }
+
+    private void publish(ScheduleEvent.Type type, int partition, List<Match> matches) {
+        synchronized (emitters) {
+            final ScheduleEvent event = new ScheduleEvent(type, status, partition, score, changedMatches(matches));
+            emitters.forEach(e -> e.emit(event));
+        }
+    }
+
+    private void publishCompleted(List<Match> matches) {
+        synchronized (emitters) {
+            final ScheduleEvent event = new ScheduleEvent(ScheduleEvent.Type.JOB_COMPLETED, status, partition, score,
+                    changedMatches(matches));
+            List.copyOf(emitters).forEach(e -> {
+                e.emit(event);
+                e.complete();
+            });
+            emitters.clear();
+        }
+    }
+
+    // Only the matches with a different matchup than in the previous event are sent
+    private List<Match> changedMatches(List<Match> matches) {
+        final List<Match> changed = new ArrayList<>();
+        for (final Match match : matches) {
+            if (!Objects.equals(emittedMatchups.put(match.getId(), match.getMatchup()), match.getMatchup())) {
+                changed.add(match);
+            }
+        }
+        return changed;
+    }
+}
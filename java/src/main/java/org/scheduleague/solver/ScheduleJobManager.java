@@ -0,0 +1,704 @@
+package org.scheduleague.solver;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.commons.collections4.ListUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.scheduleague.domain.Constraints.SolvingMode;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.MatchSlot;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.MatchupTable;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.domain.Venue;
+import org.scheduleague.solver.change.AddMatchChange;
+import org.scheduleague.solver.change.MaxMatchPerDayChange;
+import org.scheduleague.solver.change.PinMatchChange;
+import org.scheduleague.solver.change.RemoveMatchChange;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.SolverJobBuilder;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.config.solver.EnvironmentMode;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.search.Search;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class ScheduleJobManager {
+
+    static final String DEFAULT_TENANT = "default";
+
+    private static final int ALL_PARTITIONS = -1;
+
+    @Inject
+    PlanningEntityBuilder planningEntityBuilder;
+
+    @Inject
+    SolverManager<Schedule, UUID> solverManager;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    SolverConfig solverConfig;
+
+    @Inject
+    TerminationPolicy terminationPolicy;
+
+    @ConfigProperty(name = "scheduleague.solver.parallel-partitions", defaultValue = "false")
+    boolean parallelPartitions;
+
+    // Each partition is raced by this many differently seeded solvers, the best final solution is kept
+    @ConfigProperty(name = "scheduleague.solver.portfolio-size", defaultValue = "1")
+    int portfolioSize;
+
+    // Throughput requests race this many unseeded, non-reproducible solvers on every partition
+    @ConfigProperty(name = "scheduleague.solver.throughput-portfolio-size", defaultValue = "2")
+    int throughputPortfolioSize;
+
+    @ConfigProperty(name = "quarkus.timefold.solver-manager.parallel-solver-count", defaultValue = "AUTO")
+    String parallelSolverCount;
+
+    // The solver meters of a partition outlive its solve, so that the next scrape still sees a short solve
+    @ConfigProperty(name = "scheduleague.metrics.solver-meter-ttl", defaultValue = "PT2M")
+    Duration solverMeterTtl;
+
+    // A finished job is removed this long after it finished, unless it is collected before
+    @ConfigProperty(name = "scheduleague.jobs.ttl", defaultValue = "PT1H")
+    Duration jobTtl;
+
+    @ConfigProperty(name = "scheduleague.admission.solving-jobs", defaultValue = "4")
+    int solvingJobs;
+
+    @ConfigProperty(name = "scheduleague.admission.queue-size", defaultValue = "100")
+    int queueSize;
+
+    @ConfigProperty(name = "scheduleague.admission.tenant-quota", defaultValue = "0")
+    int tenantQuota;
+
+    @ConfigProperty(name = "scheduleague.admission.max-wait", defaultValue = "PT10M")
+    Duration maxWait;
+
+    private final Map<UUID, ScheduleJob> jobs = new ConcurrentHashMap<>();
+    private final Map<UUID, Plan> plans = new ConcurrentHashMap<>();
+    private List<SolverManager<Schedule, UUID>> portfolioSolverManagers;
+    private List<SolverManager<Schedule, UUID>> throughputSolverManagers;
+    private final Map<UUID, SolverManager<Schedule, UUID>> problemSolverManagers = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<Schedule>> problemSolves = new ConcurrentHashMap<>();
+    private AdmissionQueue admissionQueue;
+
+    @PostConstruct
+    void init() {
+        admissionQueue = new AdmissionQueue(solvingJobs, queueSize, tenantQuota, maxWait);
+        registerMetrics();
+    }
+
+    void registerMetrics() {
+        Gauge.builder("scheduleague.jobs", jobs, j -> j.values().stream().filter(job -> !job.isDone()).count())
+                .description("The number of jobs that are not done yet")
+                .register(meterRegistry);
+        Gauge.builder("scheduleague.solver.problems", this, m -> m.countProblems(SolverStatus.SOLVING_ACTIVE))
+                .description("The number of partitions being solved or waiting for a solver thread")
+                .tag("status", "active")
+                .register(meterRegistry);
+        Gauge.builder("scheduleague.solver.problems", this, m -> m.countProblems(SolverStatus.SOLVING_SCHEDULED))
+                .description("The number of partitions being solved or waiting for a solver thread")
+                .tag("status", "queued")
+                .register(meterRegistry);
+        Gauge.builder("scheduleague.admission.jobs", this, m -> m.admissionQueue.getQueued())
+                .description("The number of admitted jobs waiting for or holding a solving slot")
+                .tag("status", "queued")
+                .register(meterRegistry);
+        Gauge.builder("scheduleague.admission.jobs", this, m -> m.admissionQueue.getSolving())
+                .description("The number of admitted jobs waiting for or holding a solving slot")
+                .tag("status", "solving")
+                .register(meterRegistry);
+    }
+
+    // The portfolios are created on first use. The first member keeps the seed of the injected solver manager.
+    private synchronized List<SolverManager<Schedule, UUID>> portfolioSolverManagers() {
+        if (portfolioSolverManagers == null) {
+            final long randomSeed = solverConfig.getRandomSeed() == null ? 0L : solverConfig.getRandomSeed();
+            portfolioSolverManagers = createPortfolio(portfolioSize,
+                    i -> solverConfig.copyConfig().withRandomSeed(randomSeed + i));
+        }
+        return portfolioSolverManagers;
+    }
+
+    private synchronized List<SolverManager<Schedule, UUID>> throughputSolverManagers() {
+        if (throughputSolverManagers == null) {
+            throughputSolverManagers = createPortfolio(throughputPortfolioSize, i -> solverConfig.copyConfig()
+                    .withRandomSeed(null)
+                    .withEnvironmentMode(EnvironmentMode.NON_REPRODUCIBLE));
+        }
+        return throughputSolverManagers;
+    }
+
+    // The members share the parallel solver count, so that a portfolio solves as many partitions at once as the
+    // injected solver manager, with at least one thread per member
+    private List<SolverManager<Schedule, UUID>> createPortfolio(int size, IntFunction<SolverConfig> config) {
+        final int solverCount = new SolverManagerConfig().withParallelSolverCount(parallelSolverCount)
+                .resolveParallelSolverCount();
+        final SolverManagerConfig memberConfig = new SolverManagerConfig()
+                .withParallelSolverCount(String.valueOf(Math.max(1, solverCount / size)));
+        return IntStream.range(0, size)
+                .mapToObj(i -> SolverManager.<Schedule, UUID> create(SolverFactory.create(config.apply(i)),
+                        memberConfig))
+                .toList();
+    }
+
+    @PreDestroy
+    synchronized void closePortfolio() {
+        Stream.of(portfolioSolverManagers, throughputSolverManagers)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .forEach(SolverManager::close);
+    }
+
+    public ScheduleJob submit(Inputs inputs, String endpoint, String tenant) {
+        return admit(List.of(prepare(inputs, endpoint, Set.of())), endpoint, tenant).get(0);
+    }
+
+    // The divisions share the solver threads with the other jobs, so a large batch queues instead of taking them all
+    public List<ScheduleJob> submitBatch(List<Inputs> divisions, String endpoint, String tenant) {
+        final List<Set<MatchSlot>> unavailableSlots = planningEntityBuilder.allocateSharedSlots(divisions);
+        return admit(IntStream.range(0, divisions.size())
+                .mapToObj(i -> prepare(divisions.get(i), endpoint, unavailableSlots.get(i)))
+                .toList(), endpoint, tenant);
+    }
+
+    // Jobs without a tenant share the default quota
+    private List<ScheduleJob> admit(List<Prepared> prepared, String endpoint, String tenant) {
+        final String admittedTenant = Objects.requireNonNullElse(tenant, DEFAULT_TENANT);
+        final List<ScheduleJob> admittedJobs = prepared.stream().map(Prepared::job).toList();
+        admittedJobs.forEach(job -> {
+            jobs.put(job.getId(), job);
+            job.getResult().whenComplete((matches, throwable) -> admissionQueue.release(admittedTenant));
+            job.getResult().whenComplete((matches, throwable) -> CompletableFuture
+                    .runAsync(() -> jobs.remove(job.getId(), job), after(jobTtl)));
+        });
+        try {
+            admissionQueue.submit(admittedTenant, prepared.stream().map(Prepared::request).toList());
+        } catch (QueueFullException e) {
+            admittedJobs.forEach(job -> {
+                jobs.remove(job.getId());
+                plans.remove(job.getId());
+            });
+            meterRegistry.counter("scheduleague.admission.rejected", "endpoint", endpoint).increment();
+            throw e;
+        }
+        return admittedJobs;
+    }
+
+    // The endpoint and league size are tagged on the job and partition metrics
+    private Prepared prepare(Inputs inputs, String endpoint, Set<MatchSlot> unavailableSlots) {
+        terminationPolicy.validate(inputs);
+        final MatchupTable matchupTable = new MatchupTable(inputs.teams());
+        final List<Matchup> matchups1 = planningEntityBuilder.buildMatchups(matchupTable);
+        final List<Matchup> matchups2 = matchups1.stream().map(matchupTable::reverse).toList();
+        final List<Match> emptyMatches = planningEntityBuilder.buildMatches(inputs, unavailableSlots);
+        final List<Match> unscheduledMatches = planningEntityBuilder.addPreviousMatches(inputs.venues(),
+                matchupTable, inputs.previousMatches(), planningEntityBuilder.addInitialState(matchupTable,
+                        inputs.initialState(), emptyMatches));
+
+        final List<List<Match>> partitions = ListUtils.partition(unscheduledMatches, matchups1.size());
+        final Tags tags = Tags.of("endpoint", endpoint, "teams", String.valueOf(inputs.teams().size()));
+        final int nextMatchId = unscheduledMatches.stream().mapToInt(Match::getId).max().orElse(-1) + 1;
+        final Plan plan = new Plan(inputs, matchups1, matchups2, partitions, parallelPartitions && partitions.size() > 1,
+                tags, new CopyOnWriteArrayList<>(), new AtomicInteger(nextMatchId), new ConcurrentHashMap<>());
+        orientPreviousMatchups(plan);
+
+        final ScheduleJob job = new ScheduleJob(UUID.randomUUID(), partitions.size());
+        plans.put(job.getId(), plan);
+        job.getResult().whenComplete((matches, throwable) -> plans.remove(job.getId()));
+
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        job.getResult().whenComplete((matches, throwable) -> sample.stop(meterRegistry
+                .timer("scheduleague.job.solve", tags.and("status", job.getStatus().name()))));
+
+        final Timer.Sample queueSample = Timer.start(meterRegistry);
+        return new Prepared(job, new AdmissionQueue.Request(job.getId(), unscheduledMatches.size(), () -> {
+            queueSample.stop(meterRegistry.timer("scheduleague.admission.wait", tags));
+            if (plan.concurrent()) {
+                solveConcurrently(job, plan);
+            } else {
+                solveSequentially(job, plan, 0, List.of());
+            }
+        }));
+    }
+
+    public Optional<ScheduleJob> get(UUID id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public Optional<ScheduleJob> terminate(UUID id) {
+        final ScheduleJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        // A finished job is only kept around until it is collected or expires
+        if (job.isDone()) {
+            jobs.remove(id);
+            return Optional.of(job);
+        }
+
+        synchronized (job) {
+            job.terminate().forEach(problemId -> terminateEarly(job, problemId));
+        }
+        admissionQueue.cancel(id);
+        return Optional.of(job);
+    }
+
+    // A problem still waiting for a solver thread is dropped without calling back, so its solve is cancelled here
+    private void terminateEarly(ScheduleJob job, UUID problemId) {
+        final SolverManager<Schedule, UUID> problemSolverManager = solverManager(problemId);
+        final boolean scheduled = problemSolverManager.getSolverStatus(problemId) == SolverStatus.SOLVING_SCHEDULED;
+        problemSolverManager.terminateEarly(problemId);
+        if (scheduled) {
+            job.finishSolving(problemId);
+            Optional.ofNullable(problemSolves.get(problemId))
+                    .ifPresent(solve -> solve.completeExceptionally(new CancellationException()));
+        }
+    }
+
+    public void remove(UUID id) {
+        jobs.remove(id);
+    }
+
+    public Optional<ScheduleJob> addMatch(UUID id, LocalDateTime datetime, int venueId) {
+        return change(id, (job, plan) -> {
+            final Venue venue = plan.inputs().venues().stream()
+                    .filter(v -> v.id() == venueId)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown venue id " + venueId));
+            final LocalDate startDate = plan.inputs().startDate();
+            final LocalDate date = datetime.toLocalDate();
+            if (date.isBefore(startDate) || !date.isBefore(startDate.plusWeeks(plan.inputs().weeks()))) {
+                throw new IllegalArgumentException("The date/time " + datetime + " is outside the season");
+            }
+            if (!planningEntityBuilder.isOpen(plan.inputs().availability(), datetime, venueId)) {
+                throw new IllegalArgumentException("The venue " + venueId + " is closed at " + datetime);
+            }
+            final int week = (int) ChronoUnit.WEEKS.between(startDate, date) + 1;
+            final int partition = unsolved(job, plan, plan.partition(datetime));
+            final int matchId = plan.nextMatchId().getAndIncrement();
+            plan.addedMatches().put(matchId, partition);
+            return new PartitionChange(new AddMatchChange(matchId, week, datetime, venue), partition);
+        });
+    }
+
+    public Optional<ScheduleJob> removeMatch(UUID id, int matchId) {
+        return change(id, (job, plan) -> new PartitionChange(new RemoveMatchChange(matchId),
+                unsolved(job, plan, partition(plan, matchId))));
+    }
+
+    public Optional<ScheduleJob> pinMatch(UUID id, int matchId, boolean locked) {
+        return change(id, (job, plan) -> new PartitionChange(new PinMatchChange(matchId, locked),
+                unsolved(job, plan, partition(plan, matchId))));
+    }
+
+    public Optional<ScheduleJob> changeMaxMatchPerDay(UUID id, int maxMatchPerDay) {
+        return change(id, (job, plan) -> new PartitionChange(new MaxMatchPerDayChange(maxMatchPerDay),
+                ALL_PARTITIONS));
+    }
+
+    // A change to a match goes to the partition of the match, whether it is being solved or solved later.
+    // The other partitions only hold the match locked, or not at all when they are solved concurrently.
+    // An added match belongs to the partition whose matches span its date/time.
+    // The changes go to every member of a portfolio, so that they keep solving the same problem.
+    // A change that no later solve replays waits until a running solver took it, as a solver that ends first drops it.
+    private Optional<ScheduleJob> change(UUID id, BiFunction<ScheduleJob, Plan, PartitionChange> builder) {
+        final ScheduleJob job = jobs.get(id);
+        final Plan plan = plans.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        final PartitionChange change;
+        final List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        synchronized (job) {
+            if (plan == null || job.isDone() || job.isTerminated()) {
+                throw new IllegalStateException("The job " + id + " is not solving");
+            }
+
+            change = builder.apply(job, plan);
+            plan.changes().add(change);
+            job.getProblemPartitions().forEach((problemId, partition) -> {
+                if (change.appliesTo(plan, partition)) {
+                    final CompletableFuture<Void> delivery = addProblemChange(problemId, change.change());
+                    if (!plan.isReplayedAfter(change, partition)) {
+                        deliveries.add(delivery);
+                    }
+                }
+            });
+        }
+
+        if (!deliveries.isEmpty() && !deliveries.stream().map(ScheduleJobManager::isApplied).toList().contains(true)) {
+            plan.changes().remove(change);
+            throw new IllegalStateException("The job " + id + " finished solving the partition before the change");
+        }
+        return Optional.of(job);
+    }
+
+    // A sequential partition is not solved again, and a partition that is fully locked is not solved at all.
+    // Concurrent partitions leave their changes to the reconciliation.
+    private static int unsolved(ScheduleJob job, Plan plan, int partition) {
+        if (!plan.concurrent() && (job.isSolved(partition)
+                || plan.partitions().get(partition).stream().allMatch(Match::isLocked))) {
+            throw new IllegalStateException("The partition " + partition + " of the job " + job.getId()
+                    + " is already solved");
+        }
+        return partition;
+    }
+
+    private static int partition(Plan plan, int matchId) {
+        final Integer added = plan.addedMatches().get(matchId);
+        if (added != null) {
+            return added;
+        }
+        for (int i = 0; i < plan.partitions().size(); i++) {
+            if (plan.partitions().get(i).stream().anyMatch(m -> m.getId() == matchId)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown match id " + matchId);
+    }
+
+    // The delivery completes once the solver took the change, and is cancelled when the solver ended without it
+    private CompletableFuture<Void> addProblemChange(UUID problemId, ProblemChange<Schedule> change) {
+        try {
+            return solverManager(problemId).addProblemChange(problemId, change);
+        } catch (IllegalStateException e) {
+            // The partition finished solving in the meantime
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean isApplied(CompletableFuture<Void> delivery) {
+        try {
+            delivery.join();
+            return true;
+        } catch (CancellationException | CompletionException e) {
+            return false;
+        }
+    }
+
+    private void solveSequentially(ScheduleJob job, Plan plan, int start, List<Match> scheduledMatches) {
+        try {
+            // Fully locked partitions are already scheduled
+            int i = start;
+            List<Match> matches = scheduledMatches;
+            while (i < plan.partitions().size() && plan.partitions().get(i).stream().allMatch(Match::isLocked)) {
+                matches = Stream.concat(matches.stream(), plan.partitions().get(i).stream()).toList();
+                i++;
+            }
+
+            if (i == plan.partitions().size() || job.isTerminated()) {
+                job.complete(matches);
+                return;
+            }
+
+            // Each partition is solved with the previously scheduled matches locked
+            final int index = i;
+            final List<Match> previousMatches = matches;
+            final List<Match> partitionMatches = Stream
+                    .concat(matches.stream(), plan.partitions().get(index).stream()).toList();
+            final Schedule schedule = new Schedule(plan.inputs().constraints(), plan.inputs().teams(),
+                    plan.matchups(index), partitionMatches);
+
+            solve(job, plan, index, schedule, job::updateBestSolution).whenComplete((solution, throwable) -> {
+                if (throwable == null) {
+                    solveSequentially(job, plan, index + 1,
+                            solution.getMatches().stream().map(Match::lockPartition).toList());
+                } else {
+                    finish(job, previousMatches, throwable);
+                }
+            });
+        } catch (RuntimeException e) {
+            job.fail(e);
+        }
+    }
+
+    // Each partition is solved on its own, without the matches of the other partitions, so the balancing constraints
+    // only balance a team within each partition. The reconciliation only solves the boundary weeks again, which
+    // repairs the conflicts between partitions but not the balance of the season.
+    private void solveConcurrently(ScheduleJob job, Plan plan) {
+        final List<CompletableFuture<List<Match>>> futures = new ArrayList<>();
+        for (int i = 0; i < plan.partitions().size(); i++) {
+            final int index = i;
+            final List<Match> partition = plan.partitions().get(index);
+            if (partition.stream().allMatch(Match::isLocked)) {
+                futures.add(CompletableFuture.completedFuture(partition));
+                continue;
+            }
+
+            final Schedule schedule = new Schedule(plan.inputs().constraints(), plan.inputs().teams(),
+                    plan.matchups(index), partition);
+            futures.add(solve(job, plan, index, schedule, solution -> job.updateBestSolution(index, solution))
+                    .thenApply(Schedule::getMatches));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenCompose(v -> reconcile(job, plan, futures.stream().map(CompletableFuture::join).toList()))
+                .whenComplete((matches, throwable) -> finish(job, matches, throwable));
+    }
+
+    private CompletableFuture<List<Match>> reconcile(ScheduleJob job, Plan plan, List<List<Match>> partitions) {
+        // The weeks on either side of a partition boundary are solved again across the whole schedule
+        final Set<Integer> boundaryWeeks = new HashSet<>();
+        for (int i = 1; i < partitions.size(); i++) {
+            boundaryWeeks.add(partitions.get(i - 1).get(partitions.get(i - 1).size() - 1).getWeek());
+            boundaryWeeks.add(partitions.get(i).get(0).getWeek());
+        }
+
+        final List<Match> matches = partitions.stream()
+                .flatMap(List::stream)
+                .map(m -> boundaryWeeks.contains(m.getWeek()) ? m : m.lockPartition())
+                .toList();
+        if (matches.stream().allMatch(Match::isLocked)) {
+            return CompletableFuture.completedFuture(matches);
+        }
+
+        final List<Matchup> matchups = Stream.concat(plan.matchups1().stream(), plan.matchups2().stream()).toList();
+        final Schedule schedule = new Schedule(plan.inputs().constraints(), plan.inputs().teams(), matchups, matches);
+        return solve(job, plan, plan.reconciliation(), schedule, job::updateBestSolution)
+                .thenApply(solution -> solution.getMatches().stream().map(Match::lock).toList());
+    }
+
+    // Previous matchups keep their teams, but take the home and away of the round robin of their partition
+    private void orientPreviousMatchups(Plan plan) {
+        for (int i = 0; i < plan.partitions().size(); i++) {
+            final List<Matchup> matchups = plan.matchups(i);
+            for (final Match match : plan.partitions().get(i)) {
+                if (!match.isLocked() && match.getMatchup() != null) {
+                    match.setMatchup(matchups.stream().filter(match.getMatchup()::teamsEqual).findFirst().orElse(null));
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<Schedule> solve(ScheduleJob job, Plan plan, int partition, Schedule schedule,
+            Consumer<Schedule> bestSolutionConsumer) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        final Optional<SolverConfigOverride<Schedule>> configOverride = terminationPolicy.override(schedule,
+                plan.inputs().termination());
+        final List<SolverManager<Schedule, UUID>> solverManagers = solverManagers(schedule.getConstraints()
+                .solvingMode());
+        final CompletableFuture<Schedule> future = (solverManagers.size() == 1
+                ? solve(job, plan, partition, schedule, solverManagers.get(0), configOverride, bestSolutionConsumer)
+                : solvePortfolio(job, plan, partition, schedule, solverManagers, configOverride,
+                        bestSolutionConsumer))
+                .thenApply(solution -> {
+                    job.completePartition(partition);
+                    return solution;
+                });
+        future.whenComplete((solution, throwable) -> sample
+                .stop(meterRegistry.timer("scheduleague.partition.solve", plan.tags())));
+        return future;
+    }
+
+    // Every member solves its own copy of the partition, only improvements over all members are published
+    private CompletableFuture<Schedule> solvePortfolio(ScheduleJob job, Plan plan, int partition, Schedule schedule,
+            List<SolverManager<Schedule, UUID>> solverManagers, Optional<SolverConfigOverride<Schedule>> configOverride,
+            Consumer<Schedule> bestSolutionConsumer) {
+        final AtomicReference<HardSoftLongScore> bestScore = new AtomicReference<>();
+        final Consumer<Schedule> portfolioConsumer = solution -> {
+            synchronized (bestScore) {
+                if (bestScore.get() == null || solution.getScore().compareTo(bestScore.get()) > 0) {
+                    bestScore.set(solution.getScore());
+                    bestSolutionConsumer.accept(solution);
+                }
+            }
+        };
+
+        final List<CompletableFuture<Schedule>> members = new ArrayList<>();
+        for (int i = 0; i < solverManagers.size(); i++) {
+            members.add(solve(job, plan, partition, i == 0 ? schedule : copy(schedule), solverManagers.get(i),
+                    configOverride, portfolioConsumer));
+        }
+        return CompletableFuture.allOf(members.toArray(CompletableFuture[]::new))
+                .thenApply(v -> members.stream()
+                        .map(CompletableFuture::join)
+                        .max(Comparator.comparing(Schedule::getScore))
+                        .orElseThrow());
+    }
+
+    private CompletableFuture<Schedule> solve(ScheduleJob job, Plan plan, int partition, Schedule schedule,
+            SolverManager<Schedule, UUID> partitionSolverManager,
+            Optional<SolverConfigOverride<Schedule>> configOverride, Consumer<Schedule> bestSolutionConsumer) {
+        final CompletableFuture<Schedule> future = new CompletableFuture<>();
+        final UUID problemId = UUID.randomUUID();
+        future.whenComplete((solution, throwable) -> CompletableFuture
+                .runAsync(() -> removeSolverMeters(problemId), after(solverMeterTtl)));
+        synchronized (job) {
+            if (!job.startSolving(partition, problemId)) {
+                future.completeExceptionally(new CancellationException());
+                return future;
+            }
+
+            try {
+                problemSolverManagers.put(problemId, partitionSolverManager);
+                problemSolves.put(problemId, future);
+                future.whenComplete((solution, throwable) -> {
+                    problemSolverManagers.remove(problemId);
+                    problemSolves.remove(problemId);
+                });
+                final SolverJobBuilder<Schedule, UUID> builder = partitionSolverManager.solveBuilder()
+                        .withProblemId(problemId)
+                        .withProblem(schedule);
+                configOverride.ifPresent(builder::withConfigOverride);
+                builder.withBestSolutionConsumer(bestSolutionConsumer)
+                        .withFinalBestSolutionConsumer(solution -> {
+                            job.finishSolving(problemId);
+                            future.complete(solution);
+                        })
+                        .withExceptionHandler((failedProblemId, throwable) -> {
+                            job.finishSolving(problemId);
+                            future.completeExceptionally(throwable);
+                        })
+                        .run();
+                plan.changes().stream()
+                        .filter(change -> change.appliesTo(plan, partition))
+                        .forEach(change -> addProblemChange(problemId, change.change()));
+            } catch (RuntimeException e) {
+                job.finishSolving(problemId);
+                future.completeExceptionally(e);
+            }
+        }
+        return future;
+    }
+
+    // Reproducible solves only use the seeded solver, so that their matches do not depend on the fastest member
+    private List<SolverManager<Schedule, UUID>> solverManagers(SolvingMode solvingMode) {
+        return switch (solvingMode) {
+            case REPRODUCIBLE -> List.of(solverManager);
+            case THROUGHPUT -> throughputPortfolioSize == 0 ? List.of(solverManager) : throughputSolverManagers();
+            case DEFAULT -> portfolioSize <= 1 ? List.of(solverManager) : portfolioSolverManagers();
+        };
+    }
+
+    private SolverManager<Schedule, UUID> solverManager(UUID problemId) {
+        return problemSolverManagers.getOrDefault(problemId, solverManager);
+    }
+
+    // The solver changes the matches of its problem, so every member gets its own
+    private static Schedule copy(Schedule schedule) {
+        return new Schedule(schedule.getConstraints(), schedule.getTeams(), schedule.getMatchups(),
+                schedule.getMatches().stream().map(Match::copy).toList());
+    }
+
+    private static Executor after(Duration delay) {
+        return CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Timefold tags its solver metrics with the problem id, which is new for every solve
+    private void removeSolverMeters(UUID problemId) {
+        Search.in(meterRegistry)
+                .tag("problem.id", problemId.toString())
+                .meters()
+                .forEach(meterRegistry::remove);
+    }
+
+    private long countProblems(SolverStatus status) {
+        return jobs.values().stream()
+                .flatMap(job -> job.getProblemIds().stream())
+                .filter(problemId -> solverManager(problemId).getSolverStatus(problemId) == status)
+                .count();
+    }
+
+    private void finish(ScheduleJob job, List<Match> matches, Throwable throwable) {
+        final Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        if (cause == null) {
+            job.complete(matches);
+        } else if (cause instanceof CancellationException) {
+            job.complete(matches == null ? job.getMatches() : matches);
+        } else {
+            job.fail(cause);
+        }
+    }
+
+    private record Prepared(ScheduleJob job, AdmissionQueue.Request request) {
+    }
+
+    // The reconciliation solves the matches of every partition
+    private record PartitionChange(ProblemChange<Schedule> change, int partition) {
+
+        boolean appliesTo(Plan plan, int index) {
+            return partition == ALL_PARTITIONS || partition == index || index == plan.reconciliation();
+        }
+    }
+
+    private record Plan(Inputs inputs, List<Matchup> matchups1, List<Matchup> matchups2,
+            List<List<Match>> partitions, boolean concurrent, Tags tags, List<PartitionChange> changes, AtomicInteger nextMatchId,
+            Map<Integer, Integer> addedMatches) {
+
+        // Alternate home and away between the round robins
+        List<Matchup> matchups(int partition) {
+            return partition % 2 == 0 ? matchups1 : matchups2;
+        }
+
+        // Concurrent partitions are all followed by the reconciliation, sequential ones only replay the changes
+        // to every partition
+        boolean isReplayedAfter(PartitionChange change, int partition) {
+            return concurrent ? partition < reconciliation()
+                    : change.partition() == ALL_PARTITIONS && partition < partitions.size() - 1;
+        }
+
+        // The first partition that ends at or after the date/time, the last one holds the rest of the season
+        int partition(LocalDateTime datetime) {
+            for (int i = 0; i < partitions.size() - 1; i++) {
+                final List<Match> matches = partitions.get(i);
+                if (!datetime.isAfter(matches.get(matches.size() - 1).getDatetime())) {
+                    return i;
+                }
+            }
+            return partitions.size() - 1;
+        }
+
+        // The reconciliation is solved as the partition after the last one, but reported as its own phase
+        int reconciliation() {
+            return partitions.size();
+        }
+    }
+}
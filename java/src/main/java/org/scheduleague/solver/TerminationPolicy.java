@@ -0,0 +1,117 @@
+package org.scheduleague.solver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.scheduleague.domain.Constraints.SolvingMode;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Schedule;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.config.solver.termination.TerminationCompositionStyle;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+
+// Scales the time spent on a partition with its size, instead of the same limits for every partition.
+// A partition also stops once it is feasible and its soft score improves slower than the threshold.
+// Reproducible partitions are stopped by a number of score calculations instead, which does not depend on time,
+// so they only take a requested spent limit.
+@ApplicationScoped
+public class TerminationPolicy {
+
+    @ConfigProperty(name = "scheduleague.termination.adaptive", defaultValue = "true")
+    boolean adaptive;
+
+    // The time spent for each match and matchup pair the solver can assign
+    @ConfigProperty(name = "scheduleague.termination.spent-limit-per-assignment", defaultValue = "PT0.005S")
+    Duration spentLimitPerAssignment;
+
+    @ConfigProperty(name = "scheduleague.termination.min-spent-limit", defaultValue = "PT1S")
+    Duration minSpentLimit;
+
+    @ConfigProperty(name = "scheduleague.termination.max-spent-limit", defaultValue = "PT10M")
+    Duration maxSpentLimit;
+
+    @ConfigProperty(name = "scheduleague.termination.min-soft-improvement-per-second", defaultValue = "100")
+    long minSoftImprovementPerSecond;
+
+    @ConfigProperty(name = "scheduleague.termination.score-calculations-per-assignment", defaultValue = "20")
+    long scoreCalculationsPerAssignment;
+
+    // Without adaptive limits, the limits a termination does not request are the Timefold ones
+    @ConfigProperty(name = "quarkus.timefold.solver.termination.spent-limit")
+    Optional<Duration> solverSpentLimit;
+
+    @ConfigProperty(name = "quarkus.timefold.solver.termination.unimproved-spent-limit")
+    Optional<Duration> solverUnimprovedSpentLimit;
+
+    // The limits on improvement are measured over time, which would make a reproducible solve depend on the machine
+    public void validate(Inputs inputs) {
+        final Inputs.Termination termination = inputs.termination();
+        if (inputs.constraints() != null && inputs.constraints().solvingMode() == SolvingMode.REPRODUCIBLE
+                && termination != null && (termination.unimprovedSpentLimit() != null
+                        || termination.minSoftImprovementPerSecond() != null)) {
+            throw new IllegalArgumentException("A " + SolvingMode.REPRODUCIBLE
+                    + " termination only takes a spentLimit, not an unimprovedSpentLimit or minSoftImprovementPerSecond");
+        }
+    }
+
+    public Optional<SolverConfigOverride<Schedule>> override(Schedule schedule, Inputs.Termination termination) {
+        final Inputs.Termination requested = termination == null ? new Inputs.Termination(null, null, null)
+                : termination;
+        if (schedule.getConstraints().solvingMode() == SolvingMode.REPRODUCIBLE) {
+            return Optional.of(reproducibleOverride(schedule, requested));
+        } else if (!adaptive && termination == null) {
+            return Optional.empty();
+        }
+
+        final Duration spentLimit = requested.spentLimit() != null ? requested.spentLimit()
+                : adaptive ? spentLimit(schedule)
+                : solverSpentLimit.orElse(maxSpentLimit);
+        // The improvement is measured over a tenth of the time, so that a partition stops well before its limit
+        final Duration unimprovedSpentLimit = requested.unimprovedSpentLimit() != null
+                ? requested.unimprovedSpentLimit()
+                : !adaptive && solverUnimprovedSpentLimit.isPresent() ? solverUnimprovedSpentLimit.get()
+                : max(spentLimit.dividedBy(10), Duration.ofMillis(500));
+        final long improvementPerSecond = requested.minSoftImprovementPerSecond() != null
+                ? requested.minSoftImprovementPerSecond()
+                : minSoftImprovementPerSecond;
+        final long threshold = Math.max(1L, improvementPerSecond * unimprovedSpentLimit.toMillis() / 1000L);
+
+        return Optional.of(new SolverConfigOverride<Schedule>().withTerminationConfig(new TerminationConfig()
+                .withSpentLimit(spentLimit)
+                .withTerminationConfigList(List.of(new TerminationConfig()
+                        .withTerminationCompositionStyle(TerminationCompositionStyle.AND)
+                        .withBestScoreFeasible(true)
+                        .withUnimprovedSpentLimit(unimprovedSpentLimit)
+                        .withUnimprovedScoreDifferenceThreshold(HardSoftLongScore.ofSoft(threshold).toString())))));
+    }
+
+    // The spent limit only guards against a slow machine, a reproducible partition normally never reaches it
+    private SolverConfigOverride<Schedule> reproducibleOverride(Schedule schedule, Inputs.Termination requested) {
+        return new SolverConfigOverride<Schedule>().withTerminationConfig(new TerminationConfig()
+                .withScoreCalculationCountLimit(Math.max(1L, scoreCalculationsPerAssignment * assignments(schedule)))
+                .withBestScoreLimit(HardSoftLongScore.ZERO.toString())
+                .withSpentLimit(requested.spentLimit() != null ? requested.spentLimit() : maxSpentLimit));
+    }
+
+    Duration spentLimit(Schedule schedule) {
+        return min(max(spentLimitPerAssignment.multipliedBy(assignments(schedule)), minSpentLimit), maxSpentLimit);
+    }
+
+    // Locked matches are part of the problem, but the solver does not assign them
+    private static long assignments(Schedule schedule) {
+        return schedule.getMatches().stream().filter(m -> !m.isLocked()).count() * schedule.getMatchups().size();
+    }
+
+    private static Duration min(Duration duration1, Duration duration2) {
+        return duration1.compareTo(duration2) <= 0 ? duration1 : duration2;
+    }
+
+    private static Duration max(Duration duration1, Duration duration2) {
+        return duration1.compareTo(duration2) >= 0 ? duration1 : duration2;
+    }
+}
@@ -0,0 +1,26 @@
+package org.scheduleague.solver.change;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.domain.Venue;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+// Adds an empty match slot, unless a match with the same id was already added to the schedule
+public record AddMatchChange(int id, int week, LocalDateTime datetime, Venue venue) implements ProblemChange<Schedule> {
+
+    @Override
+    public void doChange(Schedule workingSolution, ProblemChangeDirector problemChangeDirector) {
+        if (workingSolution.getMatches().stream().anyMatch(m -> m.getId() == id)) {
+            return;
+        }
+
+        // The match list of a submitted problem can be immutable, so it is copied before it changes
+        workingSolution.setMatches(new ArrayList<>(workingSolution.getMatches()));
+        problemChangeDirector.addEntity(new Match(id, week, datetime, venue), workingSolution.getMatches()::add);
+    }
+}
@@ -0,0 +1,23 @@
+package org.scheduleague.solver.change;
+
+import org.scheduleague.domain.Constraints;
+import org.scheduleague.domain.Schedule;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+// The constraints are a record, so they are replaced as a problem fact instead of changed
+public record MaxMatchPerDayChange(int maxMatchPerDay) implements ProblemChange<Schedule> {
+
+    @Override
+    public void doChange(Schedule workingSolution, ProblemChangeDirector problemChangeDirector) {
+        final Constraints constraints = workingSolution.getConstraints();
+        if (constraints.maxMatchPerDay() == maxMatchPerDay) {
+            return;
+        }
+
+        problemChangeDirector.removeProblemFact(constraints, c -> workingSolution.setConstraints(null));
+        problemChangeDirector.addProblemFact(constraints.withMaxMatchPerDay(maxMatchPerDay),
+                workingSolution::setConstraints);
+    }
+}
@@ -0,0 +1,20 @@
+package org.scheduleague.solver.change;
+
+import org.scheduleague.domain.Schedule;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+// Only a match with a matchup can be pinned, an empty one would stay empty.
+// A match locked by the partitioning stays locked, its partition is already solved.
+public record PinMatchChange(int matchId, boolean locked) implements ProblemChange<Schedule> {
+
+    @Override
+    public void doChange(Schedule workingSolution, ProblemChangeDirector problemChangeDirector) {
+        workingSolution.getMatches().stream()
+                .filter(m -> m.getId() == matchId && m.isLocked() != locked && m.getMatchup() != null
+                        && !m.isPartitionLocked())
+                .findFirst()
+                .ifPresent(match -> problemChangeDirector.changeProblemProperty(match, m -> m.setLocked(locked)));
+    }
+}
@@ -0,0 +1,22 @@
+package org.scheduleague.solver.change;
+
+import java.util.ArrayList;
+
+import org.scheduleague.domain.Schedule;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+public record RemoveMatchChange(int matchId) implements ProblemChange<Schedule> {
+
+    @Override
+    public void doChange(Schedule workingSolution, ProblemChangeDirector problemChangeDirector) {
+        workingSolution.getMatches().stream()
+                .filter(m -> m.getId() == matchId)
+                .findFirst()
+                .ifPresent(match -> {
+                    workingSolution.setMatches(new ArrayList<>(workingSolution.getMatches()));
+                    problemChangeDirector.removeEntity(match, workingSolution.getMatches()::remove);
+                });
+    }
+}
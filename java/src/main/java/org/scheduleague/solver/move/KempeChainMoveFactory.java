@@ -0,0 +1,76 @@
+package org.scheduleague.solver.move;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.domain.Team;
+
+// Swaps a Kempe chain between two nights: the smallest set of matches on both nights that covers its own teams, so
+// no other team plays in it. The chain of each night takes the matchups of the other night, which swaps how often
+// each of its teams plays on the two nights. The matchups take the slots in order, so a team can end up in two
+// matches at the same date/time, which is left to the constraints.
+public class KempeChainMoveFactory extends PairMoveIteratorFactory {
+
+    @Override
+    Pairs pairs(Schedule schedule) {
+        final Map<LocalDate, List<Match>> nights = schedule.getMatches().stream()
+                .filter(m -> m.getMatchup() != null)
+                .sorted()
+                .collect(Collectors.groupingBy(m -> m.getDatetime().toLocalDate(), TreeMap::new, Collectors.toList()));
+
+        // Nights with only pinned matches cannot take part in a chain
+        final List<List<Match>> movableNights = nights.values().stream()
+                .filter(n -> n.stream().anyMatch(m -> !m.isLocked()))
+                .toList();
+
+        return new Pairs(movableNights.size(), (i, j) -> chains(movableNights.get(i), movableNights.get(j)));
+    }
+
+    private List<MatchupsChangeMove> chains(List<Match> night1, List<Match> night2) {
+        final List<MatchupsChangeMove> moves = new ArrayList<>();
+        final Set<Match> chained = new HashSet<>();
+        for (final Match start : night1) {
+            if (chained.contains(start)) {
+                continue;
+            }
+
+            final Set<Team> teams = new HashSet<>(teams(start));
+            List<Match> chain1;
+            List<Match> chain2;
+            int size;
+            do {
+                size = teams.size();
+                chain1 = night1.stream().filter(m -> teams.stream().anyMatch(m::containsTeam)).toList();
+                chain2 = night2.stream().filter(m -> teams.stream().anyMatch(m::containsTeam)).toList();
+                Stream.concat(chain1.stream(), chain2.stream()).forEach(m -> teams.addAll(teams(m)));
+            } while (teams.size() > size);
+            chained.addAll(chain1);
+
+            if (chain1.size() != chain2.size()
+                    || Stream.concat(chain1.stream(), chain2.stream()).anyMatch(Match::isLocked)) {
+                continue;
+            }
+
+            final List<Matchup> toMatchups = Stream.concat(chain2.stream(), chain1.stream())
+                    .map(Match::getMatchup)
+                    .toList();
+            moves.add(new MatchupsChangeMove("KempeChain", Stream.concat(chain1.stream(), chain2.stream()).toList(),
+                    toMatchups));
+        }
+        return moves;
+    }
+
+    private static List<Team> teams(Match match) {
+        return List.of(match.getMatchup().homeTeam(), match.getMatchup().awayTeam());
+    }
+}
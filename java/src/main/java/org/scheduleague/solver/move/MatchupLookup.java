@@ -0,0 +1,28 @@
+package org.scheduleague.solver.move;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Team;
+
+// Finds the value range matchup for two teams, keeping home and away when the value range allows it
+class MatchupLookup {
+
+    private final Map<Long, Matchup> matchups = new HashMap<>();
+
+    MatchupLookup(Collection<Matchup> valueRange) {
+        valueRange.forEach(m -> matchups.putIfAbsent(key(m.homeTeamId(), m.awayTeamId()), m));
+        valueRange.forEach(m -> matchups.putIfAbsent(key(m.awayTeamId(), m.homeTeamId()), m));
+    }
+
+    Matchup find(Team homeTeam, Team awayTeam) {
+        return matchups.get(key(homeTeam.id(), awayTeam.id()));
+    }
+
+    // The ordered team ids, so that a lookup does not build a matchup
+    private static long key(int homeTeamId, int awayTeamId) {
+        return ((long) homeTeamId << 32) | (awayTeamId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,74 @@
+package org.scheduleague.solver.move;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.move.AbstractMove;
+
+// Assigns new matchups to several matches at once
+public class MatchupsChangeMove extends AbstractMove<Schedule> {
+
+    private final String description;
+    private final List<Match> matches;
+    private final List<Matchup> toMatchups;
+
+    public MatchupsChangeMove(String description, List<Match> matches, List<Matchup> toMatchups) {
+        this.description = description;
+        this.matches = matches;
+        this.toMatchups = toMatchups;
+    }
+
+    @Override
+    public boolean isMoveDoable(ScoreDirector<Schedule> scoreDirector) {
+        return IntStream.range(0, matches.size())
+                .anyMatch(i -> !Objects.equals(matches.get(i).getMatchup(), toMatchups.get(i)));
+    }
+
+    @Override
+    protected MatchupsChangeMove createUndoMove(ScoreDirector<Schedule> scoreDirector) {
+        return new MatchupsChangeMove(description, matches, matches.stream().map(Match::getMatchup).toList());
+    }
+
+    @Override
+    protected void doMoveOnGenuineVariables(ScoreDirector<Schedule> scoreDirector) {
+        for (int i = 0; i < matches.size(); i++) {
+            final Match match = matches.get(i);
+            scoreDirector.beforeVariableChanged(match, "matchup");
+            match.setMatchup(toMatchups.get(i));
+            scoreDirector.afterVariableChanged(match, "matchup");
+        }
+    }
+
+    // Matchups are value objects, so only the matches need to be looked up
+    @Override
+    public MatchupsChangeMove rebase(ScoreDirector<Schedule> destinationScoreDirector) {
+        return new MatchupsChangeMove(description, rebaseList(matches, destinationScoreDirector), toMatchups);
+    }
+
+    @Override
+    public String getSimpleMoveTypeDescription() {
+        return description;
+    }
+
+    @Override
+    public Collection<? extends Object> getPlanningEntities() {
+        return matches;
+    }
+
+    @Override
+    public Collection<? extends Object> getPlanningValues() {
+        return toMatchups;
+    }
+
+    @Override
+    public String toString() {
+        return description + " " + matches + " -> " + toMatchups;
+    }
+}
@@ -0,0 +1,98 @@
+package org.scheduleague.solver.move;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.scheduleague.domain.Schedule;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.selector.common.iterator.UpcomingSelectionIterator;
+import ai.timefold.solver.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+
+// Swaps between pairs of groups of matches. The groups are found once per step, but the moves of a pair are only
+// created when the solver asks for them, as a step only tries a few of them.
+abstract class PairMoveIteratorFactory implements MoveIteratorFactory<Schedule, MatchupsChangeMove> {
+
+    // The pairs of the last iterator, so that the size of a step does not find the groups again
+    private Pairs lastPairs;
+
+    abstract Pairs pairs(Schedule schedule);
+
+    @Override
+    public long getSize(ScoreDirector<Schedule> scoreDirector) {
+        final long size = (lastPairs != null ? lastPairs : findPairs(scoreDirector)).size();
+        return size * (size - 1) / 2;
+    }
+
+    @Override
+    public void phaseEnded(ScoreDirector<Schedule> scoreDirector) {
+        lastPairs = null;
+    }
+
+    @Override
+    public Iterator<MatchupsChangeMove> createOriginalMoveIterator(ScoreDirector<Schedule> scoreDirector) {
+        final Pairs pairs = findPairs(scoreDirector);
+        return new UpcomingSelectionIterator<>() {
+            private int i = 0;
+            private int j = 0;
+            private Iterator<MatchupsChangeMove> moves = Collections.emptyIterator();
+
+            @Override
+            protected MatchupsChangeMove createUpcomingSelection() {
+                while (!moves.hasNext()) {
+                    if (++j >= pairs.size()) {
+                        j = ++i + 1;
+                        if (j >= pairs.size()) {
+                            return noUpcomingSelection();
+                        }
+                    }
+                    moves = pairs.moves().between(i, j).iterator();
+                }
+                return moves.next();
+            }
+        };
+    }
+
+    // Pairs are drawn until one has a move. After as many pairs without one as there are pairs the iterator ends,
+    // and the next step draws again.
+    @Override
+    public Iterator<MatchupsChangeMove> createRandomMoveIterator(ScoreDirector<Schedule> scoreDirector,
+            Random workingRandom) {
+        final Pairs pairs = findPairs(scoreDirector);
+        final int size = pairs.size();
+        final long attempts = (long) size * (size - 1) / 2;
+        return new UpcomingSelectionIterator<>() {
+            @Override
+            protected MatchupsChangeMove createUpcomingSelection() {
+                for (long attempt = 0; attempt < attempts; attempt++) {
+                    final int i = workingRandom.nextInt(size);
+                    int j = workingRandom.nextInt(size - 1);
+                    if (j >= i) {
+                        j++;
+                    }
+                    final List<MatchupsChangeMove> moves = pairs.moves().between(Math.min(i, j), Math.max(i, j));
+                    if (!moves.isEmpty()) {
+                        return moves.get(workingRandom.nextInt(moves.size()));
+                    }
+                }
+                return noUpcomingSelection();
+            }
+        };
+    }
+
+    private Pairs findPairs(ScoreDirector<Schedule> scoreDirector) {
+        lastPairs = pairs(scoreDirector.getWorkingSolution());
+        return lastPairs;
+    }
+
+    // The number of groups, and the moves between two of them
+    record Pairs(int size, Moves moves) {
+    }
+
+    @FunctionalInterface
+    interface Moves {
+        List<MatchupsChangeMove> between(int i, int j);
+    }
+}
@@ -0,0 +1,50 @@
+package org.scheduleague.solver.move;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+
+// Swaps the matchups of two groups of matches with the same shape, match by match in schedule order
+abstract class SlotSwapMoveFactory<K extends Comparable<? super K>> extends PairMoveIteratorFactory {
+
+    private final String description;
+    private final Function<Match, K> slot;
+
+    SlotSwapMoveFactory(String description, Function<Match, K> slot) {
+        this.description = description;
+        this.slot = slot;
+    }
+
+    @Override
+    Pairs pairs(Schedule schedule) {
+        final Map<K, List<Match>> slots = schedule.getMatches().stream()
+                .sorted()
+                .collect(Collectors.groupingBy(slot, TreeMap::new, Collectors.toList()));
+
+        // Only slots without pinned or empty matches can be moved as a whole
+        final List<List<Match>> movableSlots = slots.values().stream()
+                .filter(s -> s.stream().noneMatch(m -> m.isLocked() || m.getMatchup() == null))
+                .toList();
+
+        return new Pairs(movableSlots.size(), (i, j) -> swap(movableSlots.get(i), movableSlots.get(j)));
+    }
+
+    private List<MatchupsChangeMove> swap(List<Match> slot1, List<Match> slot2) {
+        if (slot1.size() != slot2.size()) {
+            return List.of();
+        }
+
+        final List<Matchup> toMatchups = Stream.concat(slot2.stream(), slot1.stream())
+                .map(Match::getMatchup)
+                .toList();
+        return List.of(new MatchupsChangeMove(description, Stream.concat(slot1.stream(), slot2.stream()).toList(),
+                toMatchups));
+    }
+}
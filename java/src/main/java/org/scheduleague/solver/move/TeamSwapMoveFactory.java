@@ -0,0 +1,55 @@
+package org.scheduleague.solver.move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.domain.Team;
+
+// Swaps two teams in every unpinned match, which moves a team onto the days, times and venues of another
+public class TeamSwapMoveFactory extends PairMoveIteratorFactory {
+
+    @Override
+    Pairs pairs(Schedule schedule) {
+        final MatchupLookup lookup = new MatchupLookup(schedule.getMatchups());
+        final List<Match> matches = schedule.getMatches().stream()
+                .filter(m -> !m.isLocked() && m.getMatchup() != null)
+                .toList();
+        final List<Team> teams = List.copyOf(schedule.getTeams());
+
+        return new Pairs(teams.size(), (i, j) -> {
+            final MatchupsChangeMove move = swap(lookup, matches, teams.get(i), teams.get(j));
+            return move == null ? List.of() : List.of(move);
+        });
+    }
+
+    private MatchupsChangeMove swap(MatchupLookup lookup, List<Match> matches, Team team1, Team team2) {
+        final List<Match> changedMatches = new ArrayList<>();
+        final List<Matchup> toMatchups = new ArrayList<>();
+        for (final Match match : matches) {
+            if (!match.containsTeam(team1) && !match.containsTeam(team2)) {
+                continue;
+            }
+
+            final Matchup matchup = lookup.find(swap(match.getMatchup().homeTeam(), team1, team2),
+                    swap(match.getMatchup().awayTeam(), team1, team2));
+            if (matchup == null) {
+                return null;
+            }
+            changedMatches.add(match);
+            toMatchups.add(matchup);
+        }
+        return changedMatches.isEmpty() ? null : new MatchupsChangeMove("TeamSwap", changedMatches, toMatchups);
+    }
+
+    private static Team swap(Team team, Team team1, Team team2) {
+        if (team.equals(team1)) {
+            return team2;
+        } else if (team.equals(team2)) {
+            return team1;
+        }
+        return team;
+    }
+}
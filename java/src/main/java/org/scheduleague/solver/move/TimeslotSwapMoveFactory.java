@@ -0,0 +1,12 @@
+package org.scheduleague.solver.move;
+
+import java.time.LocalDateTime;
+
+import org.scheduleague.domain.Match;
+
+public class TimeslotSwapMoveFactory extends SlotSwapMoveFactory<LocalDateTime> {
+
+    public TimeslotSwapMoveFactory() {
+        super("TimeslotSwap", Match::getDatetime);
+    }
+}
@@ -0,0 +1,10 @@
+package org.scheduleague.solver.move;
+
+import org.scheduleague.domain.Match;
+
+public class WeekSwapMoveFactory extends SlotSwapMoveFactory<Integer> {
+
+    public WeekSwapMoveFactory() {
+        super("WeekSwap", Match::getWeek);
+    }
+}
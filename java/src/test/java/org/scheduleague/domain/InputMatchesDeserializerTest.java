@@ -0,0 +1,129 @@
+package org.scheduleague.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.scheduleague.domain.Inputs.InputMatch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+public class InputMatchesDeserializerTest {
+
+    private static final List<InputMatch> INITIAL_STATE = List.of(
+            new InputMatch(LocalDateTime.of(2024, 9, 10, 18, 30), 1, 1, 2),
+            new InputMatch(LocalDateTime.of(2024, 9, 10, 20, 0), 2, 3, 4),
+            new InputMatch(LocalDateTime.of(2024, 9, 17, 18, 30), 1, 4, 1));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void deserializeTestRows() throws Exception {
+        final Inputs inputs = read("""
+                [
+                  {"datetime": "2024-09-10T18:30:00", "venueId": 1, "homeTeamId": 1, "awayTeamId": 2},
+                  {"venueId": 2, "homeTeamId": 3, "awayTeamId": 4, "datetime": "2024-09-10T20:00:00", "note": [1]},
+                  {"datetime": "2024-09-17T18:30:00", "venueId": 1, "homeTeamId": 4, "awayTeamId": 1}
+                ]""");
+        assertThat(inputs.initialState()).isInstanceOf(InputMatches.class).containsExactlyElementsOf(INITIAL_STATE);
+
+        // Check that each match needs all 4 values
+        assertThatThrownBy(() -> read("""
+                [{"datetime": "2024-09-10T18:30:00", "venueId": 1, "homeTeamId": 1}]"""))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("awayTeamId");
+
+        // Check that the ids must be integers, not null or strings
+        assertThatThrownBy(() -> read("""
+                [{"datetime": "2024-09-10T18:30:00", "venueId": 1, "homeTeamId": null, "awayTeamId": 2}]"""))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("homeTeamId");
+        assertThatThrownBy(() -> read("""
+                [{"datetime": "2024-09-10T18:30:00", "venueId": "1", "homeTeamId": 1, "awayTeamId": 2}]"""))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("venueId");
+
+        // The matches are written back as objects
+        final Inputs written = objectMapper.readValue(objectMapper.writeValueAsString(inputs), Inputs.class);
+        assertThat(written.initialState()).containsExactlyElementsOf(INITIAL_STATE);
+    }
+
+    @Test
+    public void deserializeTestColumns() throws Exception {
+        final Inputs inputs = read("""
+                {
+                  "datetime": ["2024-09-10T18:30:00", "2024-09-10T20:00:00", "2024-09-17T18:30:00"],
+                  "venueId": [1, 2, 1],
+                  "homeTeamId": [1, 3, 4],
+                  "awayTeamId": [2, 4, 1]
+                }""");
+        assertThat(inputs.initialState()).containsExactlyElementsOf(INITIAL_STATE);
+
+        // Check that the columns must have the same length
+        assertThatThrownBy(() -> read("""
+                {"datetime": ["2024-09-10T18:30:00"], "venueId": [1, 2], "homeTeamId": [1], "awayTeamId": [2]}"""))
+                .isInstanceOf(MismatchedInputException.class);
+
+        // Check that the ids must be integers, not null or strings
+        assertThatThrownBy(() -> read("""
+                {"datetime": ["2024-09-10T18:30:00"], "venueId": [1], "homeTeamId": [1], "awayTeamId": [null]}"""))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("awayTeamId");
+        assertThatThrownBy(() -> read("""
+                {"datetime": ["2024-09-10T18:30:00"], "venueId": [1], "homeTeamId": ["x"], "awayTeamId": [2]}"""))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("homeTeamId");
+    }
+
+    @Test
+    public void deserializeTestCsv() throws Exception {
+        final Inputs inputs = read("""
+                "datetime,venueId,homeTeamId,awayTeamId\\n2024-09-10T18:30,1,1,2\\r\\n2024-09-10T20:00, 2, 3, 4\\n\\n\
+                2024-09-17T18:30,1,4,1\\n"
+                """);
+        assertThat(inputs.initialState()).containsExactlyElementsOf(INITIAL_STATE);
+
+        // The header is optional
+        assertThat(read("\"2024-09-10T18:30,1,1,2\"").initialState()).containsExactly(INITIAL_STATE.get(0));
+
+        // Check that each line must have 4 valid values
+        assertThatThrownBy(() -> read("\"2024-09-10T18:30,1,1\""))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("line 1");
+        assertThatThrownBy(() -> read("\"2024-09-10T18:30,1,1,2\\n2024-09-10T20:00,2,3,x\""))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    public void getDatetimeIndexTest() {
+        final InputMatches inputMatches = InputMatches.of(INITIAL_STATE);
+        final Match match = new Match(0, 1, LocalDateTime.of(2024, 9, 10, 20, 0), new Venue(2, "Venue2"));
+
+        // The columns give the same slot key as the match
+        assertThat(inputMatches.getDatetimeIndex(1)).isEqualTo(match.getDatetimeIndex());
+        assertThat(inputMatches.getVenueId(1)).isEqualTo(match.getVenueId());
+        assertThat(inputMatches.getHomeTeamId(2)).isEqualTo(4);
+        assertThat(inputMatches.getAwayTeamId(2)).isEqualTo(1);
+    }
+
+    private Inputs read(String initialState) throws Exception {
+        return objectMapper.readValue("""
+                {
+                  "weeks": 2,
+                  "startDate": "2024-09-09",
+                  "dayTimeSlots": [{"day": "TUESDAY", "startTimes": ["18:30:00", "20:00:00"]}],
+                  "venues": [{"id": 1, "name": "Venue1"}, {"id": 2, "name": "Venue2"}],
+                  "teams": [{"id": 1, "name": "Team1"}, {"id": 2, "name": "Team2"}, {"id": 3, "name": "Team3"},
+                            {"id": 4, "name": "Team4"}],
+                  "initialState": %s
+                }""".formatted(initialState), Inputs.class);
+    }
+}
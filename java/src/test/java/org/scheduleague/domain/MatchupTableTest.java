@@ -0,0 +1,59 @@
+package org.scheduleague.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class MatchupTableTest {
+
+    private static final Team TEAM1 = new Team(1, "Team1");
+    private static final Team TEAM2 = new Team(2, "Team2");
+    private static final Team TEAM3 = new Team(3, "Team3");
+
+    @Test
+    public void getTest() {
+        final MatchupTable table = new MatchupTable(List.of(TEAM1, TEAM2, TEAM3));
+
+        // Each ordered pair is a single instance
+        assertThat(table.get(TEAM1, TEAM2)).isSameAs(table.get(1, 2)).isEqualTo(new Matchup(TEAM1, TEAM2));
+        assertThat(table.reverse(table.get(TEAM1, TEAM2))).isSameAs(table.get(TEAM2, TEAM1));
+        assertThat(table.reverse(new Matchup(TEAM3, TEAM1))).isSameAs(table.get(TEAM1, TEAM3));
+
+        // A team cannot play itself, or a team outside of the problem
+        assertThat(table.get(TEAM1, TEAM1)).isNull();
+        assertThat(table.get(1, 4)).isNull();
+    }
+
+    @Test
+    public void getTestAllPairs() {
+        final List<Team> teams = List.of(TEAM1, TEAM2, TEAM3);
+        final MatchupTable table = new MatchupTable(teams);
+
+        // Each ordered pair of different teams has its own instance
+        final List<Matchup> matchups = teams.stream()
+                .flatMap(t1 -> teams.stream().filter(t2 -> t1 != t2).map(t2 -> table.get(t1, t2)))
+                .toList();
+        assertThat(matchups).hasSize(6).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(matchups).allMatch(m -> table.get(m.homeTeamId(), m.awayTeamId()) == m);
+    }
+
+    @Test
+    public void lockTest() {
+        final MatchupTable table = new MatchupTable(List.of(TEAM1, TEAM2));
+        final List<Match> matches = IntStream.range(0, 2)
+                .mapToObj(i -> new Match(i, i + 1, LocalDateTime.of(2024, 9, 9, 19, 0).plusWeeks(i),
+                        new Venue(1, "Venue1")))
+                .toList();
+        matches.forEach(m -> m.setMatchup(table.get(TEAM1, TEAM2)));
+
+        // Locking keeps the match and its matchup instance
+        final Match match = matches.get(0);
+        assertThat(match.lock()).isSameAs(match);
+        assertThat(match.isLocked()).isTrue();
+        assertThat(match.getMatchup()).isSameAs(matches.get(1).getMatchup());
+    }
+}
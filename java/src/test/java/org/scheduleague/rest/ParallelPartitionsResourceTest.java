@@ -0,0 +1,123 @@
+package org.scheduleague.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.scheduleague.domain.Constraints;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Inputs.DayTimeSlots;
+import org.scheduleague.domain.MatchSlot;
+import org.scheduleague.domain.Team;
+import org.scheduleague.domain.Venue;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+
+@QuarkusTest
+@TestProfile(ParallelPartitionsResourceTest.ParallelPartitionsProfile.class)
+@TestHTTPEndpoint(Resource.class)
+public class ParallelPartitionsResourceTest {
+
+    private static final RestAssuredConfig CONFIG = RestAssured.config()
+            .httpClient(HttpClientConfig.httpClientConfig()
+                    .setParam("http.socket.timeout", 600_000)
+                    .setParam("http.connection.timeout", 600_000));
+
+    public static class ParallelPartitionsProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            // A single solving job, so that the next job waits in the queue
+            return Map.of("scheduleague.solver.parallel-partitions", "true",
+                    "scheduleague.admission.solving-jobs", "1");
+        }
+    }
+
+    @Test
+    public void jobTestParallelPartitions() {
+        // 8 teams play 28 matchups per round robin, so the 48 matches are solved as 2 partitions
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.TUESDAY,
+                List.of(LocalTime.of(18, 30), LocalTime.of(20, 0)));
+        final Inputs request = Inputs.of(12, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(2),
+                buildTeams(8), new Constraints(1, null), null);
+
+        final String id = given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(request)
+                .when().post("/jobs").then().statusCode(202).extract().path("id");
+
+        // The stream ends when the job has finished solving, after the solve across the partition boundaries
+        final String events = given().config(CONFIG).header(HttpHeaders.ACCEPT, MediaType.SERVER_SENT_EVENTS)
+                .when().get("/jobs/" + id + "/events").then().statusCode(200).extract().body().asString();
+        assertThat(events).contains("\"type\":\"PARTITION_COMPLETED\"")
+                .contains("\"type\":\"RECONCILIATION_COMPLETED\"")
+                .contains("\"type\":\"JOB_COMPLETED\",\"status\":\"COMPLETED\"");
+
+        // The merged partitions hold every match once, and one match per slot
+        final List<Map<String, Object>> matches = given().when().get("/jobs/" + id).then().statusCode(200)
+                .extract().path("matches");
+        assertThat(matches).hasSize(48).allSatisfy(m -> assertThat(m.get("homeTeam")).isNotNull());
+        assertThat(matches).extracting(m -> m.get("id")).doesNotHaveDuplicates();
+        assertThat(matches).extracting(m -> m.get("datetime") + "@" + ((Map<?, ?>) m.get("venue")).get("id"))
+                .doesNotHaveDuplicates();
+
+        given().when().delete("/jobs/" + id).then().statusCode(200);
+    }
+
+    @Test
+    public void jobTestQueuedChanges() {
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.TUESDAY,
+                List.of(LocalTime.of(18, 30), LocalTime.of(20, 0)));
+        final Inputs request = Inputs.of(12, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(2),
+                buildTeams(8), new Constraints(1, null), null);
+
+        final String solvingId = given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(request)
+                .when().post("/jobs").then().statusCode(202).extract().path("id");
+        final String queuedId = given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(request)
+                .when().post("/jobs").then().statusCode(202).extract().path("id");
+        assertThat(given().when().get("/jobs/" + queuedId).then().statusCode(200).extract().<String> path("status"))
+                .isEqualTo("SCHEDULED");
+
+        // The added matches are each solved by the partition of their week, and the solve across the boundaries
+        given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(new MatchSlot(LocalDateTime.of(2024, 9, 12, 19, 0), 1))
+                .when().post("/jobs/" + queuedId + "/matches").then().statusCode(202);
+        given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(new MatchSlot(LocalDateTime.of(2024, 11, 28, 19, 0), 1))
+                .when().post("/jobs/" + queuedId + "/matches").then().statusCode(202);
+        given().when().delete("/jobs/" + solvingId).then().statusCode(200);
+
+        await().atMost(Duration.ofMinutes(2)).pollInterval(Duration.ofSeconds(1)).until(() -> "COMPLETED"
+                .equals(given().when().get("/jobs/" + queuedId).then().statusCode(200).extract().path("status")));
+
+        final List<Integer> ids = given().when().get("/jobs/" + queuedId).then().statusCode(200).extract()
+                .path("matches.id");
+        assertThat(ids).hasSize(50).contains(48, 49).doesNotHaveDuplicates();
+
+        given().when().delete("/jobs/" + queuedId).then().statusCode(200);
+    }
+
+    private List<Team> buildTeams(int num) {
+        return IntStream.range(1, num + 1).mapToObj(i -> new Team(i, "Team" + i)).toList();
+    }
+
+    private List<Venue> buildVenues(int num) {
+        return IntStream.range(1, num + 1).mapToObj(i -> new Venue(i, "Venue" + i)).toList();
+    }
+}
@@ -0,0 +1,93 @@
+package org.scheduleague.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.scheduleague.domain.Constraints;
+import org.scheduleague.domain.Constraints.SolvingMode;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Inputs.DayTimeSlots;
+import org.scheduleague.domain.Team;
+import org.scheduleague.domain.Venue;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+
+@QuarkusTest
+@TestProfile(PortfolioResourceTest.PortfolioProfile.class)
+@TestHTTPEndpoint(Resource.class)
+public class PortfolioResourceTest {
+
+    private static final RestAssuredConfig CONFIG = RestAssured.config()
+            .httpClient(HttpClientConfig.httpClientConfig()
+                    .setParam("http.socket.timeout", 600_000)
+                    .setParam("http.connection.timeout", 600_000));
+
+    public static class PortfolioProfile implements QuarkusTestProfile {
+
+        // More solvers than threads, so that the members wait for each other
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("scheduleague.solver.portfolio-size", "3",
+                    "scheduleague.solver.throughput-portfolio-size", "3",
+                    "quarkus.timefold.solver-manager.parallel-solver-count", "2");
+        }
+    }
+
+    @Test
+    public void jobTestPortfolio() {
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.TUESDAY,
+                List.of(LocalTime.of(18, 30), LocalTime.of(20, 0)));
+        final Inputs request = Inputs.of(12, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(2),
+                buildTeams(8), new Constraints(1, null), null);
+
+        final String id = given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(request)
+                .when().post("/jobs").then().statusCode(202).extract().path("id");
+
+        // The members race on each partition, but each partition completes once
+        final String events = given().config(CONFIG).header(HttpHeaders.ACCEPT, MediaType.SERVER_SENT_EVENTS)
+                .when().get("/jobs/" + id + "/events").then().statusCode(200).extract().body().asString();
+        assertThat(events.split("\"type\":\"PARTITION_COMPLETED\"", -1)).hasSize(3);
+        assertThat(events).contains("\"type\":\"JOB_COMPLETED\",\"status\":\"COMPLETED\"");
+
+        final List<Integer> ids = given().when().get("/jobs/" + id).then().statusCode(200).extract()
+                .path("matches.id");
+        assertThat(ids).hasSize(48).doesNotHaveDuplicates();
+
+        given().when().delete("/jobs/" + id).then().statusCode(200);
+    }
+
+    @Test
+    public void generateTestThroughputPortfolio() {
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(20, 0)));
+        final Inputs request = Inputs.of(4, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(1),
+                buildTeams(3), new Constraints(1, null, SolvingMode.THROUGHPUT), null);
+
+        final List<Integer> ids = given().config(CONFIG).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(request).when().post("/generate").then().statusCode(200).extract().path("id");
+        assertThat(ids).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    private List<Team> buildTeams(int num) {
+        return IntStream.range(1, num + 1).mapToObj(i -> new Team(i, "Team" + i)).toList();
+    }
+
+    private List<Venue> buildVenues(int num) {
+        return IntStream.range(1, num + 1).mapToObj(i -> new Venue(i, "Venue" + i)).toList();
+    }
+}
@@ -2,21 +2,27 @@ package org.scheduleague.rest;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import java.lang.reflect.Type;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.scheduleague.domain.Constraints;
+import org.scheduleague.domain.Constraints.SolvingMode;
 import org.scheduleague.domain.Inputs;
 import org.scheduleague.domain.Inputs.DayTimeSlots;
 import org.scheduleague.domain.Match;
+import org.scheduleague.domain.MatchSlot;
 import org.scheduleague.domain.Team;
 import org.scheduleague.domain.Venue;
 
@@ -27,6 +33,8 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.RestAssured;
 import io.restassured.config.HttpClientConfig;
 import io.restassured.config.RestAssuredConfig;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 
@@ -54,7 +62,7 @@ public class ResourceTest {
         final List<Team> teams = buildTeams(3);
         final List<Venue> venues = buildVenues(1);
         final Constraints constraints = new Constraints(1, null);
-        final Inputs request = new Inputs(weeks, startDate, dayTimeSlots, venues, teams, constraints, null);
+        final Inputs request = Inputs.of(weeks, startDate, dayTimeSlots, venues, teams, constraints, null);
         final Type responseType = TypeFactory.defaultInstance().constructCollectionLikeType(ArrayList.class,
                 Match.class);
 
@@ -93,7 +101,7 @@ public class ResourceTest {
         final List<Team> teams = buildTeams(9);
         final List<Venue> venues = buildVenues(2);
         final Constraints constraints = new Constraints(1, null);
-        final Inputs request = new Inputs(weeks, startDate, dayTimeSlots, venues, teams, constraints, null);
+        final Inputs request = Inputs.of(weeks, startDate, dayTimeSlots, venues, teams, constraints, null);
         final Type responseType = TypeFactory.defaultInstance().constructCollectionLikeType(ArrayList.class,
                 Match.class);
 
@@ -119,7 +127,7 @@ public class ResourceTest {
         final Inputs.InputMatch match2 = new Inputs.InputMatch(LocalDateTime.of(LocalDate.of(2024, 9, 10), LocalTime.of(18, 30)), 2, 3, 4);
         final Inputs.InputMatch match3 = new Inputs.InputMatch(LocalDateTime.of(LocalDate.of(2024, 9, 10), LocalTime.of(20, 0)), 1, 5, 6);
         final Inputs.InputMatch match4 = new Inputs.InputMatch(LocalDateTime.of(LocalDate.of(2024, 9, 10), LocalTime.of(20, 0)), 2, 7, 8);
-        final Inputs request = new Inputs(weeks, startDate, dayTimeSlots, venues, teams, constraints,
+        final Inputs request = Inputs.of(weeks, startDate, dayTimeSlots, venues, teams, constraints,
                 List.of(match1, match2, match3, match4));
         final Type responseType = TypeFactory.defaultInstance().constructCollectionLikeType(ArrayList.class,
                 Match.class);
@@ -144,7 +152,7 @@ public class ResourceTest {
         final Inputs.InputMatch match2 = new Inputs.InputMatch(LocalDateTime.of(LocalDate.of(2024, 9, 10), LocalTime.of(18, 30)), 2, 3, 4);
         final Inputs.InputMatch match3 = new Inputs.InputMatch(LocalDateTime.of(LocalDate.of(2024, 9, 10), LocalTime.of(20, 0)), 1, 5, 6);
         final Inputs.InputMatch match4 = new Inputs.InputMatch(LocalDateTime.of(LocalDate.of(2024, 9, 10), LocalTime.of(20, 0)), 2, 7, 8);
-        final Inputs request = new Inputs(weeks, startDate, dayTimeSlots, venues, teams, constraints,
+        final Inputs request = Inputs.of(weeks, startDate, dayTimeSlots, venues, teams, constraints,
                 List.of(match1, match2, match3, match4));
         final Type responseType = TypeFactory.defaultInstance().constructCollectionLikeType(ArrayList.class,
                 Match.class);
@@ -155,6 +163,228 @@ public class ResourceTest {
         assertThat(response).isNotEmpty();
     }
 
+    @Test
+    public void generateTestBatch() {
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(20, 0)));
+        final List<Venue> venues = buildVenues(3);
+        final Inputs division1 = Inputs.of(4, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1),
+                venues.subList(0, 2), buildTeams(3), new Constraints(1, null), null);
+        final Inputs division2 = Inputs.of(4, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1),
+                venues.subList(1, 3), buildTeams(3), new Constraints(1, null), null);
+
+        final String response = given().config(CONFIG).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(List.of(division1, division2)).when().post("/generate/batch").then().statusCode(200)
+                .extract().body().asString();
+
+        // One line per division, and the divisions share the slots of the second venue
+        final List<JsonPath> results = response.lines().map(JsonPath::from).toList();
+        assertThat(results).hasSize(2).allSatisfy(r -> {
+            assertThat(r.getString("status")).isEqualTo("COMPLETED");
+            assertThat(r.getList("matches")).hasSize(6);
+        });
+        assertThat(results).extracting(r -> r.getInt("division")).containsExactlyInAnyOrder(0, 1);
+        final List<String> slots = results.stream()
+                .flatMap(r -> r.<Map<String, Object>> getList("matches").stream())
+                .map(m -> m.get("datetime") + "@" + ((Map<?, ?>) m.get("venue")).get("id"))
+                .toList();
+        assertThat(slots).hasSize(12).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void jobTest() {
+        final int weeks = 3;
+        final LocalDate startDate = LocalDate.of(2024, 9, 9);
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(20, 0)));
+        final List<DayTimeSlots> dayTimeSlots = List.of(dayTimeSlot1);
+        final List<Team> teams = buildTeams(3);
+        final List<Venue> venues = buildVenues(1);
+        final Constraints constraints = new Constraints(1, null);
+        final Inputs request = Inputs.of(weeks, startDate, dayTimeSlots, venues, teams, constraints, null);
+
+        final String id = given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(request)
+                .when().post("/jobs").then().statusCode(202).extract().path("id");
+
+        // Poll the job until it has finished solving
+        await().atMost(Duration.ofMinutes(2)).pollInterval(Duration.ofSeconds(1)).until(() -> "COMPLETED"
+                .equals(given().when().get("/jobs/" + id).then().statusCode(200).extract().path("status")));
+
+        final List<Integer> ids = given().when().get("/jobs/" + id).then().statusCode(200).extract()
+                .path("matches.id");
+        assertThat(ids).containsExactly(0, 1, 2);
+
+        // Collect the finished job
+        given().when().delete("/jobs/" + id).then().statusCode(200);
+        given().when().get("/jobs/" + id).then().statusCode(404);
+    }
+
+    @Test
+    public void jobTestEvents() {
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(20, 0)));
+        final Inputs request = Inputs.of(3, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(1),
+                buildTeams(3), new Constraints(1, null), null);
+
+        final String id = given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(request)
+                .when().post("/jobs").then().statusCode(202).extract().path("id");
+
+        // The stream ends when the job has finished solving
+        final String events = given().config(CONFIG).header(HttpHeaders.ACCEPT, MediaType.SERVER_SENT_EVENTS)
+                .when().get("/jobs/" + id + "/events").then().statusCode(200).extract().body().asString();
+        assertThat(events).contains("\"type\":\"SNAPSHOT\"")
+                .contains("\"type\":\"PARTITION_COMPLETED\"")
+                .contains("\"type\":\"JOB_COMPLETED\",\"status\":\"COMPLETED\"");
+
+        given().when().delete("/jobs/" + id).then().statusCode(200);
+        given().when().get("/jobs/" + id + "/events").then().statusCode(404);
+    }
+
+    @Test
+    public void jobTestTerminate() {
+        final int weeks = 12;
+        final LocalDate startDate = LocalDate.of(2024, 9, 9);
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.TUESDAY,
+                List.of(LocalTime.of(18, 30), LocalTime.of(20, 0)));
+        final List<DayTimeSlots> dayTimeSlots = List.of(dayTimeSlot1);
+        final List<Team> teams = buildTeams(8);
+        final List<Venue> venues = buildVenues(2);
+        final Constraints constraints = new Constraints(1, null);
+        final Inputs request = Inputs.of(weeks, startDate, dayTimeSlots, venues, teams, constraints, null);
+
+        final String id = given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(request)
+                .when().post("/jobs").then().statusCode(202).extract().path("id");
+
+        given().when().delete("/jobs/" + id).then().statusCode(200);
+
+        // Terminating stops the solving at the current partition
+        await().atMost(Duration.ofMinutes(1)).pollInterval(Duration.ofSeconds(1)).until(() -> "TERMINATED"
+                .equals(given().when().get("/jobs/" + id).then().statusCode(200).extract().path("status")));
+    }
+
+    @Test
+    public void jobTestChanges() {
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.TUESDAY,
+                List.of(LocalTime.of(18, 30), LocalTime.of(20, 0)));
+        final Inputs request = Inputs.of(12, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(2),
+                buildTeams(8), new Constraints(1, null), null);
+
+        final String id = given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(request)
+                .when().post("/jobs").then().statusCode(202).extract().path("id");
+
+        // A venue is available on an extra day, and the first match slot is not
+        final MatchSlot slot = new MatchSlot(LocalDateTime.of(2024, 9, 12, 19, 0), 1);
+        given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(slot)
+                .when().post("/jobs/" + id + "/matches").then().statusCode(202);
+        given().when().delete("/jobs/" + id + "/matches/0").then().statusCode(202);
+        given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(2)
+                .when().put("/jobs/" + id + "/constraints/max-match-per-day").then().statusCode(202);
+        given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(new MatchSlot(slot.datetime(), 9))
+                .when().post("/jobs/" + id + "/matches").then().statusCode(400);
+        given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(new MatchSlot(LocalDateTime.of(2024, 12, 5, 19, 0), 1))
+                .when().post("/jobs/" + id + "/matches").then().statusCode(400);
+        given().when().put("/jobs/" + id + "/matches/999/pin").then().statusCode(400);
+
+        await().atMost(Duration.ofMinutes(2)).pollInterval(Duration.ofSeconds(1)).until(() -> "COMPLETED"
+                .equals(given().when().get("/jobs/" + id).then().statusCode(200).extract().path("status")));
+
+        final List<Integer> ids = given().when().get("/jobs/" + id).then().statusCode(200).extract()
+                .path("matches.id");
+        assertThat(ids).hasSize(48).contains(48).doesNotContain(0);
+
+        // A finished job cannot change anymore
+        given().when().put("/jobs/" + id + "/matches/1/pin").then().statusCode(409);
+        given().when().delete("/jobs/" + id).then().statusCode(200);
+        given().when().put("/jobs/" + id + "/matches/1/pin").then().statusCode(404);
+    }
+
+    @Test
+    public void jobTestNotFound() {
+        given().when().get("/jobs/" + UUID.randomUUID()).then().statusCode(404);
+        given().when().delete("/jobs/" + UUID.randomUUID()).then().statusCode(404);
+    }
+
+    @Test
+    public void generateTestCached() {
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.WEDNESDAY, List.of(LocalTime.of(19, 0)));
+        final Inputs request1 = Inputs.of(3, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(1),
+                buildTeams(3), new Constraints(1, null), null);
+        final Inputs request2 = Inputs.of(3, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(1),
+                buildTeams(3).reversed(), new Constraints(1, null), null);
+
+        final String response1 = given().config(CONFIG).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(request1).when().post("/generate").then().statusCode(200).extract().body().asString();
+        final String response2 = given().config(CONFIG).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(request2).when().post("/generate").then().statusCode(200).extract().body().asString();
+        assertThat(response2).isEqualTo(response1);
+
+        final String metrics = given().basePath("").when().get("/q/metrics").then().statusCode(200).extract().body()
+                .asString();
+        assertThat(metrics)
+                .contains("scheduleague_cache_gets_total{result=\"hit\",tier=\"memory\"}")
+                .contains("scheduleague_cache_matches");
+    }
+
+    @Test
+    public void generateTestSolvingModes() {
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.THURSDAY, List.of(LocalTime.of(19, 0)));
+        final Inputs reproducible = Inputs.of(3, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(1),
+                buildTeams(3), new Constraints(1, null, SolvingMode.REPRODUCIBLE), null);
+        final Inputs throughput = Inputs.of(3, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(1),
+                buildTeams(3), new Constraints(1, null, SolvingMode.THROUGHPUT), null);
+
+        final String reproducibleId = given().config(CONFIG)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(reproducible).when()
+                .post("/generate").then().statusCode(200).extract().header("Schedule-Id");
+        assertThat(reproducibleId).isNotBlank();
+
+        // Throughput schedules are not cached, so they cannot be warm started from
+        final Response response = given().config(CONFIG)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(throughput).when()
+                .post("/generate").then().statusCode(200).extract().response();
+        assertThat(response.header("Schedule-Id")).isNull();
+        assertThat(response.jsonPath().getList("$")).hasSize(3);
+    }
+
+    @Test
+    public void generateTestPreviousSchedule() {
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.FRIDAY, List.of(LocalTime.of(19, 0)));
+        final Inputs request1 = Inputs.of(3, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(1),
+                buildTeams(3), new Constraints(1, null), null);
+        final String scheduleId = given().config(CONFIG).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(request1).when().post("/generate").then().statusCode(200).extract().header("Schedule-Id");
+        assertThat(scheduleId).isNotBlank();
+
+        // The league adds a week to its previous schedule
+        final Inputs request2 = Inputs.of(4, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(1),
+                buildTeams(3), new Constraints(1, null), null).withPreviousScheduleId(scheduleId);
+        final Type responseType = TypeFactory.defaultInstance().constructCollectionLikeType(ArrayList.class,
+                Match.class);
+        final List<Match> response = given().config(CONFIG).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(request2).when().post("/generate").then().statusCode(200).extract().body().as(responseType);
+        assertThat(response).hasSize(4).allSatisfy(m -> assertThat(m.getMatchup()).isNotNull());
+
+        final Inputs request3 = Inputs.of(4, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(1),
+                buildTeams(3), new Constraints(1, null), null).withPreviousScheduleId("unknown");
+        given().header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(request3).when().post("/generate")
+                .then().statusCode(400);
+    }
+
+    @Test
+    public void metricsTest() {
+        final DayTimeSlots dayTimeSlot1 = new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(20, 0)));
+        final Inputs request = Inputs.of(4, LocalDate.of(2024, 9, 9), List.of(dayTimeSlot1), buildVenues(1),
+                buildTeams(3), new Constraints(1, null), null);
+        given().config(CONFIG).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON).body(request)
+                .when().post("/generate").then().statusCode(200);
+
+        final String metrics = given().basePath("").when().get("/q/metrics").then().statusCode(200).extract().body()
+                .asString();
+        assertThat(metrics)
+                .contains("scheduleague_job_solve_seconds_count{endpoint=\"generate\",status=\"COMPLETED\",teams=\"3\"}")
+                .contains("scheduleague_partition_solve_seconds_count{endpoint=\"generate\",teams=\"3\"}")
+                .contains("scheduleague_solver_problems{status=\"queued\"}")
+                .contains("http_server_requests_seconds_count");
+    }
+
     private List<Team> buildTeams(int num) {
         return IntStream.range(1, num + 1).mapToObj(i -> new Team(i, "Team" + i)).toList();
     }
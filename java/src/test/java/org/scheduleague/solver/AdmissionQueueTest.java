@@ -0,0 +1,103 @@
+package org.scheduleague.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class AdmissionQueueTest {
+
+    private static final Duration MAX_WAIT = Duration.ofMinutes(10);
+
+    private final List<String> started = new ArrayList<>();
+
+    @Test
+    public void submitTest() {
+        final AdmissionQueue queue = new AdmissionQueue(1, 10, 0, MAX_WAIT);
+
+        queue.submit("tenant1", List.of(request("large1", 100)));
+        queue.submit("tenant1", List.of(request("large2", 100)));
+        queue.submit("tenant2", List.of(request("small", 10)));
+        assertThat(started).containsExactly("large1");
+        assertThat(queue.getQueued()).isEqualTo(2);
+
+        // Small jobs jump ahead of the larger ones waiting longer
+        queue.release("tenant1");
+        assertThat(started).containsExactly("large1", "small");
+        queue.release("tenant2");
+        assertThat(started).containsExactly("large1", "small", "large2");
+        assertThat(queue.getQueued()).isZero();
+        assertThat(queue.getSolving()).isEqualTo(1);
+    }
+
+    @Test
+    public void submitTestMaxWait() {
+        final AdmissionQueue queue = new AdmissionQueue(1, 10, 0, MAX_WAIT);
+
+        queue.submit("tenant1", List.of(request("large1", 100)));
+        queue.submit("tenant1", List.of(request("large2", 100)));
+        queue.clock = Clock.offset(queue.clock, MAX_WAIT.plusMinutes(1));
+        queue.submit("tenant2", List.of(request("small1", 10)));
+
+        // A job waiting longer than the max wait starts before the smaller jobs
+        queue.release("tenant1");
+        assertThat(started).containsExactly("large1", "large2");
+        queue.submit("tenant2", List.of(request("small2", 10)));
+        queue.release("tenant1");
+        assertThat(started).containsExactly("large1", "large2", "small1");
+    }
+
+    @Test
+    public void submitTestTenantQuota() {
+        final AdmissionQueue queue = new AdmissionQueue(3, 10, 1, MAX_WAIT);
+
+        queue.submit("tenant1", List.of(request("small1", 10), request("small2", 10)));
+        queue.submit("tenant2", List.of(request("large", 100)));
+        assertThat(started).containsExactly("small1", "large");
+
+        // A tenant only gets another solving slot when one of its own jobs is done
+        queue.release("tenant2");
+        assertThat(started).containsExactly("small1", "large");
+        queue.release("tenant1");
+        assertThat(started).containsExactly("small1", "large", "small2");
+    }
+
+    @Test
+    public void submitTestFull() {
+        final AdmissionQueue queue = new AdmissionQueue(1, 1, 0, MAX_WAIT);
+
+        queue.submit("tenant1", List.of(request("job1", 10), request("job2", 10)));
+        assertThatThrownBy(() -> queue.submit("tenant1", List.of(request("job3", 10))))
+                .isInstanceOf(QueueFullException.class);
+        assertThat(queue.getQueued()).isEqualTo(1);
+
+        // A batch is rejected as a whole
+        queue.release("tenant1");
+        assertThatThrownBy(() -> queue.submit("tenant1", List.of(request("job4", 10), request("job5", 10))))
+                .isInstanceOf(QueueFullException.class);
+        assertThat(started).containsExactly("job1", "job2");
+    }
+
+    @Test
+    public void cancelTest() {
+        final AdmissionQueue queue = new AdmissionQueue(1, 10, 0, MAX_WAIT);
+        final AdmissionQueue.Request waiting = request("waiting", 10);
+
+        queue.submit("tenant1", List.of(request("solving", 10), waiting));
+        assertThat(queue.cancel(waiting.id())).isTrue();
+        assertThat(queue.cancel(waiting.id())).isFalse();
+        assertThat(started).containsExactly("solving", "waiting");
+        assertThat(queue.getQueued()).isZero();
+        assertThat(queue.getSolving()).isEqualTo(2);
+    }
+
+    private AdmissionQueue.Request request(String name, int size) {
+        return new AdmissionQueue.Request(UUID.randomUUID(), size, () -> started.add(name));
+    }
+}
@@ -1,6 +1,7 @@
 package org.scheduleague.solver;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -8,16 +9,24 @@ import java.time.LocalTime;
 import java.time.Period;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.ListAssert;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Inputs.Availability;
 import org.scheduleague.domain.Inputs.DayTimeSlots;
 import org.scheduleague.domain.Inputs.InputMatch;
+import org.scheduleague.domain.Inputs.VenueAvailability;
 import org.scheduleague.domain.Match;
+import org.scheduleague.domain.MatchSlot;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.MatchupTable;
 import org.scheduleague.domain.Team;
 import org.scheduleague.domain.Venue;
 
@@ -68,6 +77,10 @@ public class PlanningEntityBuilderTest {
                                 assertThat(m.getWeek()).isEqualTo(week);
                                 assertThat(m.getDatetime()).isEqualTo(date.atTime(time));
                                 assertThat(m.getVenue()).isEqualTo(venue);
+                                assertThat(m.getDayIndex()).isEqualTo((int) date.toEpochDay());
+                                assertThat(m.getDayOfWeekIndex()).isEqualTo(date.getDayOfWeek().ordinal());
+                                assertThat(m.getTimeIndex()).isEqualTo(time.getHour() * 60 + time.getMinute());
+                                assertThat(m.getVenueId()).isEqualTo(venue.id());
                             });
                         }
                     }
@@ -76,6 +89,59 @@ public class PlanningEntityBuilderTest {
         }
     }
 
+    @Test
+    public void buildMatchesAvailabilityTest() {
+        final LocalDate startDate = LocalDate.of(2024, 9, 9);
+        final List<DayTimeSlots> dayTimeSlots = List.of(new DayTimeSlots(DayOfWeek.TUESDAY,
+                List.of(LocalTime.of(18, 30), LocalTime.of(20, 0))));
+        final List<Venue> venues = List.of(new Venue(1, "Venue1"), new Venue(2, "Venue2"), new Venue(3, "Venue3"));
+        final LocalDate holiday = LocalDate.of(2024, 9, 17);
+        final LocalDate blackoutDate = LocalDate.of(2024, 9, 24);
+
+        // Venue 1 is closed on a date, venue 2 only hosts the late slot and venue 3 is always open
+        final Availability availability = new Availability(List.of(holiday), List.of(
+                new VenueAvailability(1, List.of(blackoutDate), null),
+                new VenueAvailability(2, null, List.of(
+                        new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(20, 0))),
+                        new DayTimeSlots(DayOfWeek.WEDNESDAY, List.of(LocalTime.of(18, 30)))))));
+        final MatchSlot takenSlot = new MatchSlot(LocalDate.of(2024, 9, 10).atTime(20, 0), 3);
+
+        final List<Match> matches = builder.buildMatches(3, startDate, dayTimeSlots, venues, availability,
+                Set.of(takenSlot));
+
+        // 2 nights without the holiday: 2 slots at venue 1 on the first, the late slot at venue 2 on both and 4 slots
+        // at venue 3 less the taken one
+        assertThat(matches).hasSize(2 + 2 + 3).isSorted();
+        assertThat(matches).extracting(Match::getId).containsExactlyElementsOf(IntStream.range(0, 7).boxed().toList());
+        assertThat(matches).noneMatch(m -> m.getDatetime().toLocalDate().equals(holiday));
+        assertThat(matches).noneMatch(m -> m.getVenueId() == 1 && m.getDatetime().toLocalDate().equals(blackoutDate));
+        assertThat(matches).filteredOn(m -> m.getVenueId() == 2)
+                .hasSize(2)
+                .allMatch(m -> m.getDatetime().toLocalTime().equals(LocalTime.of(20, 0)));
+        assertThat(matches).noneMatch(m -> new MatchSlot(m.getDatetime(), m.getVenueId()).equals(takenSlot));
+
+        // An added slot is closed like the built ones
+        assertThat(builder.isOpen(availability, holiday.atTime(19, 0), 3)).isFalse();
+        assertThat(builder.isOpen(availability, blackoutDate.atTime(19, 0), 1)).isFalse();
+        assertThat(builder.isOpen(availability, LocalDate.of(2024, 9, 10).atTime(18, 30), 2)).isFalse();
+        assertThat(builder.isOpen(availability, LocalDate.of(2024, 9, 11).atTime(18, 30), 2)).isTrue();
+        assertThat(builder.isOpen(availability, blackoutDate.atTime(19, 0), 3)).isTrue();
+        assertThat(builder.isOpen(null, holiday.atTime(19, 0), 1)).isTrue();
+
+        // Without availability every slot is built
+        assertThat(builder.buildMatches(3, startDate, dayTimeSlots, venues, null, Set.of())).hasSize(3 * 2 * 3);
+
+        // The slots of played matches are kept, on a holiday or where their venue is closed
+        final List<Team> teams = List.of(new Team(1, "Team1"), new Team(2, "Team2"));
+        final List<InputMatch> initialState = List.of(new InputMatch(holiday.atTime(18, 30), 1, 1, 2),
+                new InputMatch(LocalDate.of(2024, 9, 10).atTime(18, 30), 2, 2, 1));
+        final Inputs inputs = Inputs.of(3, startDate, dayTimeSlots, venues, teams, null, initialState)
+                .withAvailability(availability);
+        final List<Match> playedMatches = builder.addInitialState(teams, initialState,
+                builder.buildMatches(inputs, Set.of(takenSlot)));
+        assertThat(playedMatches).hasSize(7 + 2).filteredOn(Match::isLocked).hasSize(2);
+    }
+
     @Test
     public void addInitialStateTest() {
         final LocalDate date = LocalDate.of(2024, 9, 9);
@@ -88,8 +154,8 @@ public class PlanningEntityBuilderTest {
         final Match emptyMatch2 = new Match(1, 1, date.atTime(time2), venue);
         final InputMatch initialMatch = new InputMatch(date.atTime(time2), venue.id(), team2.id(), team1.id());
 
-        final List<Match> matches = builder.addInitialState(List.of(venue), List.of(team1, team2),
-                List.of(initialMatch), List.of(emptyMatch1, emptyMatch2));
+        final List<Match> matches = builder.addInitialState(List.of(team1, team2), List.of(initialMatch),
+                List.of(emptyMatch1, emptyMatch2));
 
         assertThat(matches).satisfiesExactly(m -> {
             assertThat(m).isSameAs(emptyMatch1);
@@ -99,9 +165,37 @@ public class PlanningEntityBuilderTest {
             assertThat(m.getVenue()).isSameAs(venue);
             assertThat(m.getMatchup().homeTeam()).isSameAs(team2);
             assertThat(m.getMatchup().awayTeam()).isSameAs(team1);
+            assertThat(m.isLocked()).isTrue();
         });
+
+        // The matchups come from the table of the problem
+        final MatchupTable matchupTable = new MatchupTable(List.of(team1, team2));
+        final Match emptyMatch3 = new Match(2, 2, date.plusWeeks(1).atTime(time2), venue);
+        final InputMatch initialMatch3 = new InputMatch(date.plusWeeks(1).atTime(time2), venue.id(), team1.id(),
+                team2.id());
+        assertThat(builder.addInitialState(matchupTable, List.of(initialMatch3), List.of(emptyMatch3)))
+                .singleElement()
+                .satisfies(m -> assertThat(m.getMatchup()).isSameAs(matchupTable.get(team1, team2)));
+        assertThat(builder.buildMatchups(matchupTable)).contains(matchupTable.get(team1, team2));
+
+        // Two matches cannot take the same slot
+        final Match duplicateMatch = new Match(3, 1, date.atTime(time2), venue);
+        assertThatThrownBy(() -> builder.addInitialState(matchupTable, List.of(initialMatch),
+                List.of(emptyMatch1, emptyMatch2, duplicateMatch)))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Both teams must be part of the problem, and different
+        final InputMatch unknownTeamMatch = new InputMatch(date.atTime(time2), venue.id(), team1.id(), 3);
+        assertThatThrownBy(() -> builder.addInitialState(matchupTable, List.of(unknownTeamMatch),
+                List.of(emptyMatch1, emptyMatch2)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Unknown matchup 1 vs 3");
+        final InputMatch sameTeamMatch = new InputMatch(date.atTime(time2), venue.id(), team1.id(), team1.id());
+        assertThatThrownBy(() -> builder.addInitialState(matchupTable, List.of(sameTeamMatch),
+                List.of(emptyMatch1, emptyMatch2)))
+                .isInstanceOf(IllegalStateException.class);
     }
-    
+
     @Test
     public void addInitialStateTestEmpty() {
         final LocalDate date = LocalDate.of(2024, 9, 9);
@@ -113,12 +207,103 @@ public class PlanningEntityBuilderTest {
         final Match emptyMatch1 = new Match(0, 1, date.atTime(time1), venue);
         final Match emptyMatch2 = new Match(1, 1, date.atTime(time2), venue);
 
-        final List<Match> matches = builder.addInitialState(List.of(venue), List.of(team1, team2),
-                List.of(), List.of(emptyMatch1, emptyMatch2));
+        final List<Match> matches = builder.addInitialState(List.of(team1, team2), List.of(),
+                List.of(emptyMatch1, emptyMatch2));
 
         assertThat(matches).containsExactly(emptyMatch1, emptyMatch2);
     }
 
+    @Test
+    public void addPreviousMatchesTest() {
+        final LocalDate date = LocalDate.of(2024, 9, 9);
+        final LocalTime time1 = LocalTime.of(18, 30);
+        final LocalTime time2 = LocalTime.of(20, 0);
+        final Venue venue = new Venue(1, "Venue");
+        final Team team1 = new Team(1, "Team1");
+        final Team team2 = new Team(2, "Team2");
+        final Team team3 = new Team(3, "Team3");
+        final Match emptyMatch1 = new Match(0, 1, date.atTime(time1), venue);
+        final Match emptyMatch2 = new Match(1, 1, date.atTime(time2), venue);
+        final Match emptyMatch3 = new Match(2, 2, date.plusWeeks(1).atTime(time1), venue);
+        final Match lockedMatch = new Match(3, 2, date.plusWeeks(1).atTime(time2), venue, team1, team3);
+
+        // The previous schedule had other team names, a team that left and no second week
+        final List<Match> previousMatches = List.of(
+                new Match(7, 1, date.atTime(time1), new Venue(1, "Old"), new Team(2, "Old2"), new Team(1, "Old1")),
+                new Match(8, 1, date.atTime(time2), venue, team1, new Team(4, "Team4")));
+
+        final List<Match> matches = builder.addPreviousMatches(List.of(venue), List.of(team1, team2, team3),
+                previousMatches, List.of(emptyMatch1, emptyMatch2, emptyMatch3, lockedMatch));
+
+        assertThat(matches).containsExactly(emptyMatch1, emptyMatch2, emptyMatch3, lockedMatch);
+        assertThat(emptyMatch1.isLocked()).isFalse();
+        assertThat(emptyMatch1.getMatchup().homeTeam()).isSameAs(team2);
+        assertThat(emptyMatch1.getMatchup().awayTeam()).isSameAs(team1);
+        assertThat(emptyMatch2.getMatchup()).isNull();
+        assertThat(emptyMatch3.getMatchup()).isNull();
+        assertThat(lockedMatch.getMatchup()).isEqualTo(new Matchup(team1, team3));
+    }
+
+    @Test
+    public void allocateSharedSlotsTest() {
+        final LocalDate startDate = LocalDate.of(2024, 9, 9);
+        final DayTimeSlots dayTimeSlot = new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(18, 30)));
+        final Venue venue1 = new Venue(1, "Venue1");
+        final Venue venue2 = new Venue(2, "Venue2");
+        final List<Team> teams = List.of(new Team(1, "Team1"), new Team(2, "Team2"));
+        final Inputs division1 = Inputs.of(4, startDate, List.of(dayTimeSlot), List.of(venue1), teams, null, null);
+        final Inputs division2 = Inputs.of(4, startDate, List.of(dayTimeSlot), List.of(venue1, venue2), teams, null,
+                null);
+        final Inputs division3 = Inputs.of(4, startDate, List.of(dayTimeSlot), List.of(venue2), teams, null, null);
+        final Inputs division4 = Inputs.of(4, startDate, List.of(dayTimeSlot), List.of(new Venue(3, "Venue3")),
+                teams, null, null);
+
+        final List<Set<MatchSlot>> unavailableSlots = builder
+                .allocateSharedSlots(List.of(division1, division2, division3, division4));
+
+        // Each shared slot goes to exactly one division, and the shared slots are split evenly
+        assertThat(unavailableSlots.get(0)).hasSize(2).allMatch(s -> s.venueId() == 1);
+        assertThat(unavailableSlots.get(1)).hasSize(4);
+        assertThat(unavailableSlots.get(2)).hasSize(2).allMatch(s -> s.venueId() == 2);
+        assertThat(unavailableSlots.get(3)).isEmpty();
+        assertThat(unavailableSlots.get(0)).doesNotContainAnyElementsOf(unavailableSlots.get(1));
+        assertThat(unavailableSlots.get(2)).doesNotContainAnyElementsOf(unavailableSlots.get(1));
+
+        // The slots of played matches stay with their division
+        final List<InputMatch> initialState = IntStream.range(0, 4)
+                .mapToObj(w -> new InputMatch(startDate.plusDays(1 + 7 * w).atTime(18, 30), 1, 1, 2))
+                .toList();
+        final Inputs playedDivision1 = Inputs.of(4, startDate, List.of(dayTimeSlot), List.of(venue1), teams, null,
+                initialState);
+        final List<Set<MatchSlot>> playedSlots = builder.allocateSharedSlots(List.of(playedDivision1, division2));
+        assertThat(playedSlots.get(0)).isEmpty();
+        assertThat(playedSlots.get(1)).hasSize(4).allMatch(s -> s.venueId() == 1);
+
+        // Two divisions cannot have played in the same slot
+        final Inputs playedDivision2 = Inputs.of(4, startDate, List.of(dayTimeSlot), List.of(venue1, venue2), teams,
+                null, initialState.subList(3, 4));
+        assertThatThrownBy(() -> builder.allocateSharedSlots(List.of(playedDivision1, playedDivision2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void buildRoundsTest() {
+        for (final int numTeams : List.of(6, 7)) {
+            final List<Team> teams = IntStream.rangeClosed(1, numTeams).mapToObj(i -> new Team(i, "Team" + i))
+                    .toList();
+
+            final List<List<Matchup>> rounds = builder.buildRounds(teams);
+
+            // Every team plays at most once per round and every matchup is played exactly once
+            assertThat(rounds).hasSize(numTeams % 2 == 0 ? numTeams - 1 : numTeams).allSatisfy(round -> {
+                assertThat(round).hasSize(numTeams / 2);
+                assertThat(round.stream().flatMap(m -> Stream.of(m.homeTeam(), m.awayTeam()))).doesNotHaveDuplicates();
+            });
+            assertThat(rounds.stream().flatMap(List::stream).toList())
+                    .containsExactlyInAnyOrderElementsOf(builder.buildMatchups(teams));
+        }
+    }
+
     private List<Venue> buildVenues(int num) {
         return IntStream.range(1, num + 1).mapToObj(i -> new Venue(i, "Venue" + i)).toList();
     }
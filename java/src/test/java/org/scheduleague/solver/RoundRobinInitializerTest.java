@@ -0,0 +1,82 @@
+package org.scheduleague.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.scheduleague.domain.Constraints;
+import org.scheduleague.domain.Inputs.DayTimeSlots;
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.domain.Team;
+import org.scheduleague.domain.Venue;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.phase.custom.CustomPhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+
+public class RoundRobinInitializerTest {
+
+    private final PlanningEntityBuilder builder = new PlanningEntityBuilder();
+
+    @Test
+    public void initializeTest() {
+        // 4 matches a day for 8 teams
+        final Schedule solution1 = initialize(8, 7, List.of(new DayTimeSlots(DayOfWeek.TUESDAY,
+                List.of(LocalTime.of(18, 30), LocalTime.of(20, 0)))), 2);
+        assertThat(solution1.getScore().hardScore()).isZero();
+        assertThat(solution1.getMatches()).allSatisfy(m -> assertThat(m.getMatchup()).isNotNull());
+        assertThat(solution1.getMatches().stream().map(Match::getMatchup).distinct()).hasSize(28);
+
+        // 3 matches a day for 7 teams, with more matches than matchups
+        final Schedule solution2 = initialize(7, 4, List.of(
+                new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(18, 30))),
+                new DayTimeSlots(DayOfWeek.THURSDAY, List.of(LocalTime.of(19, 0)))), 3);
+        assertThat(solution2.getScore().hardScore()).isZero();
+        assertThat(solution2.getMatches()).allSatisfy(m -> assertThat(m.getMatchup()).isNotNull());
+    }
+
+    @Test
+    public void initializeTestLocked() {
+        final List<Team> teams = buildTeams(4);
+        final Venue venue = new Venue(1, "Venue1");
+        final List<Match> matches = builder.buildMatches(3, LocalDate.of(2024, 9, 9),
+                List.of(new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(18, 30), LocalTime.of(20, 0)))),
+                List.of(venue));
+        final Match locked = new Match(0, 1, matches.get(0).getDatetime(), venue, teams.get(0), teams.get(1));
+
+        final Schedule solution = solve(new Schedule(new Constraints(1, null), teams, builder.buildMatchups(teams),
+                IntStream.range(0, matches.size()).mapToObj(i -> i == 0 ? locked : matches.get(i)).toList()));
+
+        assertThat(solution.getScore().hardScore()).isZero();
+        assertThat(solution.getMatches().get(0).getMatchup()).isEqualTo(new Matchup(teams.get(0), teams.get(1)));
+        assertThat(solution.getMatches().stream().map(Match::getMatchup).distinct()).hasSize(6);
+    }
+
+    private Schedule initialize(int numTeams, int weeks, List<DayTimeSlots> dayTimeSlots, int numVenues) {
+        final List<Team> teams = buildTeams(numTeams);
+        final List<Venue> venues = IntStream.rangeClosed(1, numVenues).mapToObj(i -> new Venue(i, "Venue" + i))
+                .toList();
+        final List<Match> matches = builder.buildMatches(weeks, LocalDate.of(2024, 9, 9), dayTimeSlots, venues);
+        return solve(new Schedule(new Constraints(1, null), teams, builder.buildMatchups(teams), matches));
+    }
+
+    private Schedule solve(Schedule schedule) {
+        final SolverConfig solverConfig = new SolverConfig()
+                .withSolutionClass(Schedule.class)
+                .withEntityClasses(Match.class)
+                .withConstraintProviderClass(ScheduleConstraintProvider.class)
+                .withPhases(new CustomPhaseConfig().withCustomPhaseCommandList(List.of(new RoundRobinInitializer())));
+        return SolverFactory.<Schedule> create(solverConfig).buildSolver().solve(schedule);
+    }
+
+    private List<Team> buildTeams(int num) {
+        return IntStream.rangeClosed(1, num).mapToObj(i -> new Team(i, "Team" + i)).toList();
+    }
+}
@@ -0,0 +1,189 @@
+package org.scheduleague.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.scheduleague.domain.Constraints;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Inputs.Availability;
+import org.scheduleague.domain.Inputs.DayTimeSlots;
+import org.scheduleague.domain.Inputs.VenueAvailability;
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Team;
+import org.scheduleague.domain.Venue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ScheduleCacheTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2024, 9, 9);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void getTest() {
+        final ScheduleCache cache = buildCache(1000, Optional.empty());
+        final Inputs inputs = buildInputs(List.of(new Team(1, "Team1"), new Team(2, "Team2"), new Team(3, "Team3")));
+        final List<Match> matches = buildMatches(3);
+
+        assertThat(cache.get(inputs)).isEmpty();
+        cache.put(inputs, matches);
+        assertThat(cache.get(inputs)).contains(matches);
+
+        // The order of the teams does not matter, their names do
+        assertThat(cache.get(buildInputs(List.of(new Team(3, "Team3"), new Team(1, "Team1"), new Team(2, "Team2")))))
+                .contains(matches);
+        assertThat(cache.get(buildInputs(List.of(new Team(1, "Team1"), new Team(2, "Team2"), new Team(3, "TeamC")))))
+                .isEmpty();
+
+        assertThat(cache.meterRegistry.get("scheduleague.cache.gets").tag("result", "hit").counter().count())
+                .isEqualTo(2);
+        assertThat(cache.meterRegistry.get("scheduleague.cache.gets").tag("result", "miss").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void keyTestAvailability() {
+        final ScheduleCache cache = buildCache(1000, Optional.empty());
+        final Inputs inputs = buildInputs(List.of(new Team(1, "Team1"), new Team(2, "Team2")));
+        final LocalDate date1 = START_DATE.plusDays(1);
+        final LocalDate date2 = START_DATE.plusDays(8);
+        final VenueAvailability venue1 = new VenueAvailability(1, List.of(date1, date2), null);
+        final VenueAvailability venue2 = new VenueAvailability(2, List.of(date2), null);
+
+        // The order of the dates and venues does not matter, the dates do
+        final String key = cache.key(inputs.withAvailability(
+                new Availability(List.of(date1, date2), List.of(venue1, venue2))));
+        assertThat(cache.key(inputs.withAvailability(new Availability(List.of(date2, date1),
+                List.of(venue2, new VenueAvailability(1, List.of(date2, date1), null)))))).isEqualTo(key);
+        assertThat(cache.key(inputs.withAvailability(new Availability(List.of(date1), List.of(venue1, venue2)))))
+                .isNotEqualTo(key);
+        assertThat(cache.key(inputs)).isNotEqualTo(key);
+    }
+
+    @Test
+    public void keyTestTermination() {
+        final ScheduleCache cache = buildCache(1000, Optional.empty());
+        final Inputs inputs = buildInputs(List.of(new Team(1, "Team1"), new Team(2, "Team2")));
+        final String key = cache.key(inputs);
+
+        // Each termination setting gives other matches for the same inputs
+        cache.maxSpentLimit = Duration.ofMinutes(1);
+        cache.init();
+        final String maxSpentLimitKey = cache.key(inputs);
+        assertThat(maxSpentLimitKey).isNotEqualTo(key);
+        cache.adaptive = true;
+        cache.init();
+        assertThat(cache.key(inputs)).isNotEqualTo(key).isNotEqualTo(maxSpentLimitKey);
+    }
+
+    @Test
+    public void getTestEvicted() {
+        final ScheduleCache cache = buildCache(10, Optional.empty());
+        final Inputs inputs1 = buildInputs(List.of(new Team(1, "Team1"), new Team(2, "Team2")));
+        final Inputs inputs2 = buildInputs(List.of(new Team(1, "Team1"), new Team(3, "Team3")));
+        final Inputs inputs3 = buildInputs(List.of(new Team(2, "Team2"), new Team(3, "Team3")));
+
+        cache.put(inputs1, buildMatches(4));
+        cache.put(inputs2, buildMatches(4));
+        assertThat(cache.get(inputs1)).isPresent();
+
+        // The least recently used inputs are evicted first
+        cache.put(inputs3, buildMatches(4));
+        assertThat(cache.get(inputs1)).isPresent();
+        assertThat(cache.get(inputs2)).isEmpty();
+        assertThat(cache.get(inputs3)).isPresent();
+        assertThat(cache.size()).isEqualTo(8);
+
+        // Matches larger than the cache are not kept
+        cache.put(inputs2, buildMatches(11));
+        assertThat(cache.get(inputs2)).isEmpty();
+    }
+
+    @Test
+    public void getTestExpired() {
+        final ScheduleCache cache = buildCache(1000, Optional.empty());
+        final Inputs inputs = buildInputs(List.of(new Team(1, "Team1"), new Team(2, "Team2")));
+
+        cache.put(inputs, buildMatches(2));
+        cache.clock = Clock.offset(cache.clock, Duration.ofHours(1));
+        assertThat(cache.get(inputs)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void getTestDirectory() throws IOException {
+        final Inputs inputs = buildInputs(List.of(new Team(1, "Team1"), new Team(2, "Team2")));
+        final List<Match> matches = buildMatches(2);
+        buildCache(1000, Optional.of(directory)).put(inputs, matches);
+
+        // A new cache reads the matches back from the directory
+        final ScheduleCache cache = buildCache(1000, Optional.of(directory));
+        final Optional<List<Match>> cachedMatches = cache.get(inputs);
+        assertThat(cachedMatches).isPresent();
+        assertThat(cachedMatches.get()).extracting(Match::getId, Match::getDatetime, Match::getMatchup)
+                .containsExactlyElementsOf(matches.stream()
+                        .map(m -> tuple(m.getId(), m.getDatetime(), m.getMatchup()))
+                        .toList());
+        assertThat(cache.meterRegistry.get("scheduleague.cache.gets").tag("tier", "disk").tag("result", "hit")
+                .counter().count()).isEqualTo(1);
+
+        // Expired files are deleted
+        final ScheduleCache expiredCache = buildCache(1000, Optional.of(directory));
+        expiredCache.clock = Clock.offset(expiredCache.clock, Duration.ofHours(1));
+        assertThat(expiredCache.get(inputs)).isEmpty();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private ScheduleCache buildCache(long maxMatches, Optional<Path> directory) {
+        final ScheduleCache cache = new ScheduleCache();
+        cache.objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cache.solverConfig = SolverConfig.createFromXmlResource("solverConfig.xml");
+        cache.meterRegistry = new SimpleMeterRegistry();
+        cache.enabled = true;
+        cache.maxMatches = maxMatches;
+        cache.ttl = Duration.ofMinutes(30);
+        cache.directory = directory;
+        cache.clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+        cache.init();
+        return cache;
+    }
+
+    private Inputs buildInputs(List<Team> teams) {
+        return Inputs.of(2, START_DATE, List.of(new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(18, 30)))),
+                List.of(new Venue(1, "Venue1")), teams, new Constraints(1, null), List.of());
+    }
+
+    private List<Match> buildMatches(int num) {
+        final Venue venue = new Venue(1, "Venue1");
+        return IntStream.range(0, num)
+                .mapToObj(i -> new Match(i, i + 1, START_DATE.plusWeeks(i).atTime(18, 30), venue, new Team(1, "Team1"),
+                        new Team(2, "Team2")))
+                .toList();
+    }
+}
@@ -1,15 +1,38 @@
 package org.scheduleague.solver;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.scheduleague.domain.Constraints;
+import org.scheduleague.domain.Inputs.DayTimeSlots;
 import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
 import org.scheduleague.domain.Schedule;
 import org.scheduleague.domain.Team;
 import org.scheduleague.domain.Venue;
 
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintCollectors;
+import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
+import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
+import ai.timefold.solver.core.api.score.stream.Joiners;
+import ai.timefold.solver.core.api.score.stream.common.LoadBalance;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
 import ai.timefold.solver.test.api.score.stream.ConstraintVerifier;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
@@ -36,12 +59,12 @@ public class ScheduleConstraintProviderTest {
         // Check that the team cannot play at the same time (as home team)
         final Match conflictingMatch2 = new Match(1, 1, LocalDateTime.of(2024, 9, 9, 7, 0), VENUE2, TEAM1, TEAM2);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamDatetimeConflict)
-                .given(match1, conflictingMatch2, match2).penalizesBy(BigDecimal.ONE);
+                .given(match1, conflictingMatch2, match2).penalizesBy(1);
 
         // Check that the team cannot play at the same time (as away team)
         final Match conflictingMatch3 = new Match(1, 1, LocalDateTime.of(2024, 9, 9, 7, 0), VENUE2, TEAM2, TEAM1);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamDatetimeConflict)
-                .given(match1, conflictingMatch3, match2).penalizesBy(BigDecimal.ONE);
+                .given(match1, conflictingMatch3, match2).penalizesBy(1);
     }
 
     @Test
@@ -52,19 +75,116 @@ public class ScheduleConstraintProviderTest {
         // Check that the team can play an unlimited number of times in a day
         final Constraints constraints1 = new Constraints(0, null);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamMaxMatchesPerDay)
-                .given(constraints1, TEAM1, TEAM2, TEAM3, match1, match2).penalizesBy(BigDecimal.ZERO);
+                .given(constraints1, TEAM1, TEAM2, TEAM3, match1, match2).penalizesBy(0);
         
         // Check that the team can play at least once a day
         final Constraints constraints2 = new Constraints(1, null);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamMaxMatchesPerDay)
-                .given(constraints1, TEAM1, TEAM2, TEAM3, match1, match2).penalizesBy(BigDecimal.ZERO);
+                .given(constraints2, TEAM1, TEAM2, TEAM3, match1, match2).penalizesBy(0);
 
         // Check that the team cannot play more than the specified number of times in a day
         final Match match3 = new Match(2, 1, LocalDateTime.of(2024, 9, 11, 10, 0), VENUE1, TEAM2, TEAM3);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamMaxMatchesPerDay)
-                .given(constraints2, TEAM1, TEAM2, TEAM3, match1, match2, match3).penalizesBy(BigDecimal.ONE);
+                .given(constraints2, TEAM1, TEAM2, TEAM3, match1, match2, match3).penalizesBy(1);
+
+        // Check that each team is penalized for each match over the specified number of times in a day
+        final Match match4 = new Match(3, 1, LocalDateTime.of(2024, 9, 11, 11, 0), VENUE1, TEAM3, TEAM1);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::teamMaxMatchesPerDay)
+                .given(constraints2, TEAM1, TEAM2, TEAM3, match1, match2, match3, match4)
+                .penalizesBy(3);
+
+        // Check that the team can play up to the specified number of times in a day
+        final Constraints constraints3 = new Constraints(2, null);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::teamMaxMatchesPerDay)
+                .given(constraints3, TEAM1, TEAM2, TEAM3, match1, match2, match3).penalizesBy(0);
     }
     
+    @Test
+    void matchupRepeatTest() {
+        final Match match1 = new Match(0, 1, LocalDateTime.of(2024, 9, 9, 7, 0), VENUE1, TEAM1, TEAM2);
+        final Match match2 = new Match(1, 2, LocalDateTime.of(2024, 9, 16, 7, 0), VENUE1, TEAM1, TEAM3);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::matchupRepeat)
+                .given(match1, match2).penalizesBy(0);
+
+        // Check that a reversed matchup is a repeat
+        final Match match3 = new Match(2, 3, LocalDateTime.of(2024, 9, 23, 7, 0), VENUE1, TEAM2, TEAM1);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::matchupRepeat)
+                .given(match1, match2, match3).penalizesBy(1);
+
+        // Check that each pair of repeats is penalized
+        final Match match4 = new Match(3, 4, LocalDateTime.of(2024, 9, 30, 7, 0), VENUE1, TEAM1, TEAM2);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::matchupRepeat)
+                .given(match1, match2, match3, match4).penalizesBy(3);
+    }
+
+    @Test
+    void matchupSeparationTest() {
+        final Match match1 = new Match(0, 1, LocalDateTime.of(2024, 9, 9, 7, 0), VENUE1, TEAM1, TEAM2);
+        final Match match2 = new Match(1, 3, LocalDateTime.of(2024, 9, 23, 7, 0), VENUE1, TEAM2, TEAM1);
+        final Match match3 = new Match(2, 5, LocalDateTime.of(2024, 10, 7, 7, 0), VENUE1, TEAM1, TEAM2);
+        final Match match4 = new Match(3, 3, LocalDateTime.of(2024, 9, 23, 9, 0), VENUE1, TEAM1, TEAM3);
+
+        // Check that a matchup 14 days after the previous one is penalized
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::matchupSeparation)
+                .given(match1, match2, match4).penalizesBy(86);
+
+        // Check that only consecutive occurrences are penalized
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::matchupSeparation)
+                .given(match1, match2, match3, match4).penalizesBy(172);
+
+        // Check that matchups at least 100 days apart are not penalized
+        final Match match5 = new Match(4, 20, LocalDateTime.of(2025, 1, 20, 7, 0), VENUE1, TEAM3, TEAM1);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::matchupSeparation)
+                .given(match4, match5).penalizesBy(0);
+    }
+
+    @Test
+    void teamByeBalancingTest() {
+        // With 3 teams one team has a bye each week
+        final Match match1 = new Match(0, 1, LocalDateTime.of(2024, 9, 9, 7, 0), VENUE1, TEAM1, TEAM2);
+        final Match match2 = new Match(1, 2, LocalDateTime.of(2024, 9, 16, 7, 0), VENUE1, TEAM2, TEAM3);
+        final Match match3 = new Match(2, 3, LocalDateTime.of(2024, 9, 23, 7, 0), VENUE1, TEAM3, TEAM1);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::teamByeBalancing)
+                .given(match1, match2, match3).penalizesBy(0);
+
+        // Check that a team with more byes than the others is penalized
+        final Match match4 = new Match(2, 3, LocalDateTime.of(2024, 9, 23, 7, 0), VENUE1, TEAM1, TEAM2);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::teamByeBalancing)
+                .given(match1, match2, match4).penalizesBy(141);
+
+        // Check that a team playing twice in a week has no more played weeks
+        final Match match5 = new Match(3, 3, LocalDateTime.of(2024, 9, 25, 7, 0), VENUE1, TEAM1, TEAM3);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::teamByeBalancing)
+                .given(match1, match2, match3, match5).penalizesBy(0);
+    }
+
+    @Test
+    void teamByeSeparationTest() {
+        // A double round robin of 3 teams gives team 1 byes in weeks 2 and 5, with 2 played weeks between them
+        final List<Match> matches = List.of(
+                new Match(0, 1, LocalDateTime.of(2024, 9, 9, 7, 0), VENUE1, TEAM1, TEAM2),
+                new Match(1, 2, LocalDateTime.of(2024, 9, 16, 7, 0), VENUE1, TEAM2, TEAM3),
+                new Match(2, 3, LocalDateTime.of(2024, 9, 23, 7, 0), VENUE1, TEAM3, TEAM1),
+                new Match(3, 4, LocalDateTime.of(2024, 9, 30, 7, 0), VENUE1, TEAM1, TEAM2),
+                new Match(4, 5, LocalDateTime.of(2024, 10, 7, 7, 0), VENUE1, TEAM2, TEAM3),
+                new Match(5, 6, LocalDateTime.of(2024, 10, 14, 7, 0), VENUE1, TEAM3, TEAM1));
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::teamByeSeparation)
+                .given(matches.toArray()).penalizesBy(50);
+
+        // Check that consecutive byes are penalized
+        final Match match1 = new Match(0, 1, LocalDateTime.of(2024, 9, 9, 7, 0), VENUE1, TEAM1, TEAM2);
+        final Match match2 = new Match(1, 2, LocalDateTime.of(2024, 9, 16, 7, 0), VENUE1, TEAM2, TEAM3);
+        final Match match3 = new Match(2, 3, LocalDateTime.of(2024, 9, 23, 7, 0), VENUE1, TEAM2, TEAM3);
+        final Match match4 = new Match(3, 4, LocalDateTime.of(2024, 9, 30, 7, 0), VENUE1, TEAM3, TEAM1);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::teamByeSeparation)
+                .given(match1, match2, match3, match4).penalizesBy(100);
+
+        // Check that a second match in a week is not a separate played week
+        final Match match5 = new Match(4, 1, LocalDateTime.of(2024, 9, 11, 7, 0), VENUE1, TEAM1, TEAM3);
+        constraintVerifier.verifyThat(ScheduleConstraintProvider::teamByeSeparation)
+                .given(match1, match2, match3, match4, match5).penalizesBy(100);
+    }
+
     @Test
     void teamOpponentBalancingTest() {
         final Match match1 = new Match(0, 1, LocalDateTime.of(2024, 9, 9, 7, 0), VENUE1, TEAM1, TEAM2);
@@ -73,25 +193,25 @@ public class ScheduleConstraintProviderTest {
 
         // Check that the matchups are balanced
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamOpponentBalancing)
-                .given(TEAM1, TEAM2, TEAM3, match1, match2, match3).penalizesBy(BigDecimal.ZERO);
+                .given(TEAM1, TEAM2, TEAM3, match1, match2, match3).penalizesBy(0);
 
         // Check that the matchups are unbalanced
         final Match match4 = new Match(3, 4, LocalDateTime.of(2024, 9, 30, 7, 0), VENUE1, TEAM2, TEAM1);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamOpponentBalancing)
                 .given(TEAM1, TEAM2, TEAM3, match1, match2, match3, match4)
-                .penalizesByMoreThan(BigDecimal.ZERO);
+                .penalizesByMoreThan(0);
         
         // Check that the matchups are still unbalanced
         final Match match5 = new Match(4, 5, LocalDateTime.of(2024, 10, 7, 7, 0), VENUE1, TEAM1, TEAM3);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamOpponentBalancing)
                 .given(TEAM1, TEAM2, TEAM3, match1, match2, match3, match4, match5)
-                .penalizesByMoreThan(BigDecimal.ZERO);
+                .penalizesByMoreThan(0);
         
         // Check that the matchups are balanced again
         final Match match6 = new Match(4, 5, LocalDateTime.of(2024, 10, 14, 7, 0), VENUE1, TEAM3, TEAM2);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamOpponentBalancing)
                 .given(TEAM1, TEAM2, TEAM3, match1, match2, match3, match4, match5, match6)
-                .penalizesByMoreThan(BigDecimal.ZERO);
+                .penalizesByMoreThan(0);
     }
 
     @Test
@@ -102,26 +222,26 @@ public class ScheduleConstraintProviderTest {
 
         // Check that the days the teams play is completely balanced
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamDayBalancing)
-                .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2).penalizesBy(BigDecimal.ZERO);
+                .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2).penalizesBy(0);
 
         // Check that the days the teams play is unbalanced
         final Match match3 = new Match(2, 2, LocalDateTime.of(2024, 9, 16, 9, 0), VENUE1, TEAM3, TEAM1);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamDayBalancing)
                 .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2, match3)
-                .penalizesByMoreThan(BigDecimal.ONE);
+                .penalizesByMoreThan(1);
 
         // Check that the days the teams play is still unbalanced
         final Match match4 = new Match(3, 2, LocalDateTime.of(2024, 9, 18, 7, 0), VENUE2, TEAM1, TEAM4);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamDayBalancing)
                 .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2, match3, match4)
-                .penalizesByMoreThan(BigDecimal.ONE);
+                .penalizesByMoreThan(1);
         
         // Check that the days the teams play is completely balanced again
         final Match match5 = new Match(4, 3, LocalDateTime.of(2024, 9, 23, 7, 0), VENUE1, TEAM3, TEAM2);
         final Match match6 = new Match(5, 3, LocalDateTime.of(2024, 9, 25, 9, 0), VENUE2, TEAM2, TEAM4);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamDayBalancing)
                 .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2, match3, match4, match5, match6)
-                .penalizesBy(BigDecimal.ZERO);
+                .penalizesBy(0);
     }
     
     @Test
@@ -132,26 +252,26 @@ public class ScheduleConstraintProviderTest {
 
         // Check that the times the teams play is completely balanced
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamDayTimeBalancing)
-                .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2).penalizesBy(BigDecimal.ZERO);
+                .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2).penalizesBy(0);
 
         // Check that the times the teams play is unbalanced
         final Match match3 = new Match(2, 3, LocalDateTime.of(2024, 9, 11, 9, 0), VENUE1, TEAM3, TEAM1);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamDayTimeBalancing)
                 .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2, match3)
-                .penalizesByMoreThan(BigDecimal.ONE);
+                .penalizesByMoreThan(1);
 
         // Check that the times the teams play is still unbalanced
         final Match match4 = new Match(3, 4, LocalDateTime.of(2024, 9, 16, 7, 0), VENUE2, TEAM1, TEAM4);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamDayTimeBalancing)
                 .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2, match3, match4)
-                .penalizesByMoreThan(BigDecimal.ONE);
+                .penalizesByMoreThan(1);
         
         // Check that the times the teams play is completely balanced again
         final Match match5 = new Match(4, 5, LocalDateTime.of(2024, 9, 23, 7, 0), VENUE1, TEAM3, TEAM2);
         final Match match6 = new Match(5, 6, LocalDateTime.of(2024, 9, 30, 9, 0), VENUE2, TEAM2, TEAM4);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamDayTimeBalancing)
                 .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2, match3, match4, match5, match6)
-                .penalizesBy(BigDecimal.ZERO);
+                .penalizesBy(0);
     }
     
     @Test
@@ -162,25 +282,127 @@ public class ScheduleConstraintProviderTest {
 
         // Check that the venues the teams play is completely balanced
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamVenueBalancing)
-                .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2).penalizesBy(BigDecimal.ZERO);
+                .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2).penalizesBy(0);
 
         // Check that the venues the teams play is unbalanced
         final Match match3 = new Match(2, 2, LocalDateTime.of(2024, 9, 16, 7, 0), VENUE2, TEAM3, TEAM1);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamVenueBalancing)
                 .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2, match3)
-                .penalizesByMoreThan(BigDecimal.ONE);
+                .penalizesByMoreThan(1);
 
         // Check that the venues the teams play is still unbalanced
         final Match match4 = new Match(3, 3, LocalDateTime.of(2024, 9, 25, 9, 0), VENUE1, TEAM1, TEAM4);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamVenueBalancing)
                 .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2, match3, match4)
-                .penalizesByMoreThan(BigDecimal.ONE);
+                .penalizesByMoreThan(1);
         
         // Check that the venues the teams play is completely balanced again
         final Match match5 = new Match(4, 3, LocalDateTime.of(2024, 9, 23, 7, 0), VENUE1, TEAM3, TEAM2);
         final Match match6 = new Match(5, 4, LocalDateTime.of(2024, 10, 1, 9, 0), VENUE2, TEAM2, TEAM4);
         constraintVerifier.verifyThat(ScheduleConstraintProvider::teamVenueBalancing)
                 .given(constraints, TEAM1, TEAM2, TEAM3, TEAM4, match1, match2, match3, match4, match5, match6)
-                .penalizesBy(BigDecimal.ZERO);
+                .penalizesBy(0);
+    }
+
+    @Test
+    void teamBalancingEquivalenceTest() {
+        // Check that the indexed team balancing constraints score the same as the original filtering joins
+        for (int seed = 0; seed < 10; seed++) {
+            final Schedule schedule = buildRandomSchedule(new Random(seed));
+            assertThat(calculateScore(TeamBalancingConstraintProvider.class, schedule))
+                    .isEqualTo(calculateScore(FilteringTeamBalancingConstraintProvider.class, schedule));
+        }
+    }
+
+    @Test
+    void scaledUnfairnessTest() {
+        // Check that the unfairness is the square root of the squared deviation from the mean, to 2 decimal places
+        assertThat(ScheduleConstraintProvider.scaledUnfairness(loadBalance(3L, 1L))).isEqualTo(141L);
+        assertThat(ScheduleConstraintProvider.scaledUnfairness(loadBalance(4L, 0L, 2L))).isEqualTo(283L);
+        assertThat(ScheduleConstraintProvider.scaledUnfairness(loadBalance(2L, 2L, 2L))).isZero();
+        assertThat(ScheduleConstraintProvider.scaledUnfairness(loadBalance(5L))).isZero();
+    }
+
+    private static LoadBalance<Integer> loadBalance(long... loads) {
+        final Map<Integer, Long> loadMap = new HashMap<>();
+        for (int i = 0; i < loads.length; i++) {
+            loadMap.put(i, loads[i]);
+        }
+        return new LoadBalance<>() {
+
+            @Override
+            public Map<Integer, Long> loads() {
+                return loadMap;
+            }
+
+            @Override
+            public BigDecimal unfairness() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static Schedule buildRandomSchedule(Random random) {
+        final PlanningEntityBuilder builder = new PlanningEntityBuilder();
+        final List<Team> teams = IntStream.range(1, 8).mapToObj(i -> new Team(i, "Team" + i)).toList();
+        final List<Venue> venues = List.of(VENUE1, VENUE2);
+        final List<DayTimeSlots> dayTimeSlots = List.of(
+                new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(18, 30), LocalTime.of(20, 0))),
+                new DayTimeSlots(DayOfWeek.THURSDAY, List.of(LocalTime.of(19, 0))));
+        final List<Matchup> matchups = builder.buildMatchups(teams);
+        final List<Match> matches = builder.buildMatches(6, LocalDate.of(2024, 9, 9), dayTimeSlots, venues);
+        matches.forEach(m -> m.setMatchup(matchups.get(random.nextInt(matchups.size()))));
+        return new Schedule(new Constraints(1, null), teams, matchups, matches);
+    }
+
+    private static HardSoftLongScore calculateScore(Class<? extends ConstraintProvider> constraintProviderClass,
+            Schedule schedule) {
+        final SolverFactory<Schedule> solverFactory = SolverFactory.create(new SolverConfig()
+                .withSolutionClass(Schedule.class)
+                .withEntityClasses(Match.class)
+                .withConstraintProviderClass(constraintProviderClass));
+        return SolutionManager.<Schedule, HardSoftLongScore> create(solverFactory).update(schedule);
+    }
+
+    public static class TeamBalancingConstraintProvider implements ConstraintProvider {
+
+        @Override
+        public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+            final ScheduleConstraintProvider provider = new ScheduleConstraintProvider();
+            return new Constraint[] {
+                    provider.teamOpponentBalancing(constraintFactory),
+                    provider.teamDayBalancing(constraintFactory),
+                    provider.teamDayTimeBalancing(constraintFactory),
+                    provider.teamVenueBalancing(constraintFactory)
+            };
+        }
+    }
+
+    public static class FilteringTeamBalancingConstraintProvider implements ConstraintProvider {
+
+        @Override
+        public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+            return new Constraint[] {
+                    balancing(constraintFactory, (t, m) -> m.getOpponent(t), 10_000L,
+                            ScheduleConstraintProvider.TEAM_OPPONENT_BALANCING_CONSTRAINT),
+                    balancing(constraintFactory, (t, m) -> m.getDatetime().getDayOfWeek(), 1L,
+                            ScheduleConstraintProvider.TEAM_DAY_BALANCING_CONSTRAINT),
+                    balancing(constraintFactory,
+                            (t, m) -> List.of(m.getDatetime().getDayOfWeek(), m.getDatetime().toLocalTime()),
+                            1L, ScheduleConstraintProvider.TEAM_DAY_TIME_BALANCING_CONSTRAINT),
+                    balancing(constraintFactory, (t, m) -> m.getVenue(), 1L,
+                            ScheduleConstraintProvider.TEAM_VENUE_BALANCING_CONSTRAINT)
+            };
+        }
+
+        private static Constraint balancing(ConstraintFactory constraintFactory,
+                BiFunction<Team, Match, Object> balanced, long weight, String name) {
+            return constraintFactory
+                    .forEach(Team.class)
+                    .join(Match.class, Joiners.filtering((t, m) -> m.containsTeam(t)))
+                    .groupBy(ConstraintCollectors.loadBalance(balanced))
+                    .penalizeLong(HardSoftLongScore.ofSoft(weight), ScheduleConstraintProvider::scaledUnfairness)
+                    .asConstraint(name);
+        }
     }
 }
@@ -0,0 +1,141 @@
+package org.scheduleague.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.scheduleague.domain.Constraints;
+import org.scheduleague.domain.Constraints.SolvingMode;
+import org.scheduleague.domain.Inputs;
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.domain.Team;
+import org.scheduleague.domain.Venue;
+
+import ai.timefold.solver.core.config.solver.termination.TerminationCompositionStyle;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+public class TerminationPolicyTest {
+
+    private static final Team TEAM1 = new Team(1, "Team1");
+    private static final Team TEAM2 = new Team(2, "Team2");
+
+    @Test
+    public void spentLimitTest() {
+        final TerminationPolicy policy = buildPolicy(true);
+
+        // Only the unlocked matches are assigned by the solver
+        assertThat(policy.spentLimit(buildSchedule(100, 10, 2))).isEqualTo(Duration.ofSeconds(2));
+        assertThat(policy.spentLimit(buildSchedule(2, 10, 2))).isEqualTo(Duration.ofSeconds(1));
+        assertThat(policy.spentLimit(buildSchedule(1000, 0, 100))).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void overrideTest() {
+        final TerminationConfig termination = buildPolicy(true).override(buildSchedule(100, 0, 10), null)
+                .orElseThrow().getTerminationConfig();
+
+        assertThat(termination.getSpentLimit()).isEqualTo(Duration.ofSeconds(10));
+        final TerminationConfig converged = termination.getTerminationConfigList().get(0);
+        assertThat(converged.getTerminationCompositionStyle()).isEqualTo(TerminationCompositionStyle.AND);
+        assertThat(converged.getBestScoreFeasible()).isTrue();
+        assertThat(converged.getUnimprovedSpentLimit()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(converged.getUnimprovedScoreDifferenceThreshold()).isEqualTo("0hard/100soft");
+    }
+
+    @Test
+    public void overrideTestRequested() {
+        final Inputs.Termination requested = new Inputs.Termination(Duration.ofSeconds(30), Duration.ofSeconds(5),
+                null);
+
+        // The requested limits apply even when the adaptive termination is off
+        assertThat(buildPolicy(false).override(buildSchedule(100, 0, 10), null)).isEmpty();
+        final TerminationConfig termination = buildPolicy(false).override(buildSchedule(100, 0, 10), requested)
+                .orElseThrow().getTerminationConfig();
+        assertThat(termination.getSpentLimit()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(termination.getTerminationConfigList().get(0).getUnimprovedSpentLimit())
+                .isEqualTo(Duration.ofSeconds(5));
+        assertThat(termination.getTerminationConfigList().get(0).getUnimprovedScoreDifferenceThreshold())
+                .isEqualTo("0hard/500soft");
+
+        // The limits that are not requested are the Timefold ones, not the adaptive ones
+        final TerminationConfig improvement = buildPolicy(false)
+                .override(buildSchedule(100, 0, 10), new Inputs.Termination(null, null, 10L))
+                .orElseThrow().getTerminationConfig();
+        assertThat(improvement.getSpentLimit()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(improvement.getTerminationConfigList().get(0).getUnimprovedSpentLimit())
+                .isEqualTo(Duration.ofSeconds(30));
+        assertThat(improvement.getTerminationConfigList().get(0).getUnimprovedScoreDifferenceThreshold())
+                .isEqualTo("0hard/300soft");
+    }
+
+    @Test
+    public void overrideTestReproducible() {
+        final TerminationConfig termination = buildPolicy(false)
+                .override(buildSchedule(100, 10, 10, SolvingMode.REPRODUCIBLE), null)
+                .orElseThrow().getTerminationConfig();
+
+        // Reproducible partitions are not stopped by how fast the score improves
+        assertThat(termination.getScoreCalculationCountLimit()).isEqualTo(20_000L);
+        assertThat(termination.getBestScoreLimit()).isEqualTo("0hard/0soft");
+        assertThat(termination.getSpentLimit()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(termination.getTerminationConfigList()).isNull();
+    }
+
+    @Test
+    public void validateTest() {
+        final TerminationPolicy policy = buildPolicy(true);
+        final Constraints reproducible = new Constraints(1, null, SolvingMode.REPRODUCIBLE);
+
+        // A reproducible solve takes a spent limit, but not the limits on its improvement over time
+        policy.validate(buildInputs(reproducible, new Inputs.Termination(Duration.ofSeconds(30), null, null)));
+        policy.validate(buildInputs(new Constraints(1, null), new Inputs.Termination(null, Duration.ofSeconds(5),
+                100L)));
+        assertThatThrownBy(() -> policy.validate(buildInputs(reproducible,
+                new Inputs.Termination(null, Duration.ofSeconds(5), null))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policy.validate(buildInputs(reproducible, new Inputs.Termination(null, null, 100L))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TerminationPolicy buildPolicy(boolean adaptive) {
+        final TerminationPolicy policy = new TerminationPolicy();
+        policy.adaptive = adaptive;
+        policy.spentLimitPerAssignment = Duration.ofMillis(10);
+        policy.minSpentLimit = Duration.ofSeconds(1);
+        policy.maxSpentLimit = Duration.ofMinutes(1);
+        policy.minSoftImprovementPerSecond = 100;
+        policy.scoreCalculationsPerAssignment = 20;
+        policy.solverSpentLimit = Optional.of(Duration.ofMinutes(10));
+        policy.solverUnimprovedSpentLimit = Optional.of(Duration.ofSeconds(30));
+        return policy;
+    }
+
+    private Inputs buildInputs(Constraints constraints, Inputs.Termination termination) {
+        return Inputs.of(1, LocalDate.of(2024, 9, 9), List.of(), List.of(), List.of(TEAM1, TEAM2), constraints, null)
+                .withTermination(termination);
+    }
+
+    private Schedule buildSchedule(int unlockedMatches, int lockedMatches, int matchups) {
+        return buildSchedule(unlockedMatches, lockedMatches, matchups, SolvingMode.DEFAULT);
+    }
+
+    private Schedule buildSchedule(int unlockedMatches, int lockedMatches, int matchups, SolvingMode solvingMode) {
+        final Venue venue = new Venue(1, "Venue1");
+        final LocalDateTime datetime = LocalDateTime.of(2024, 9, 10, 18, 30);
+        final List<Match> matches = IntStream.range(0, unlockedMatches + lockedMatches)
+                .mapToObj(i -> i < unlockedMatches ? new Match(i, 1, datetime, venue)
+                        : new Match(i, 1, datetime, venue, TEAM1, TEAM2))
+                .toList();
+        return new Schedule(new Constraints(1, null, solvingMode), List.of(TEAM1, TEAM2),
+                IntStream.range(0, matchups).mapToObj(i -> new Matchup(TEAM1, TEAM2)).toList(), matches);
+    }
+}
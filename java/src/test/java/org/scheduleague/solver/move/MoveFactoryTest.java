@@ -0,0 +1,113 @@
+package org.scheduleague.solver.move;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.scheduleague.domain.Constraints;
+import org.scheduleague.domain.Inputs.DayTimeSlots;
+import org.scheduleague.domain.Match;
+import org.scheduleague.domain.Matchup;
+import org.scheduleague.domain.Schedule;
+import org.scheduleague.domain.Team;
+import org.scheduleague.domain.Venue;
+import org.scheduleague.solver.PlanningEntityBuilder;
+import org.scheduleague.solver.RoundRobinInitializer;
+import org.scheduleague.solver.ScheduleConstraintProvider;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.phase.custom.CustomPhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.heuristic.move.Move;
+import ai.timefold.solver.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+
+public class MoveFactoryTest {
+
+    private final PlanningEntityBuilder builder = new PlanningEntityBuilder();
+
+    @Test
+    public void teamSwapTest() {
+        assertMoves(new TeamSwapMoveFactory(), true);
+    }
+
+    @Test
+    public void timeslotSwapTest() {
+        assertMoves(new TimeslotSwapMoveFactory(), false);
+    }
+
+    @Test
+    public void weekSwapTest() {
+        assertMoves(new WeekSwapMoveFactory(), true);
+    }
+
+    @Test
+    public void kempeChainTest() {
+        assertMoves(new KempeChainMoveFactory(), true);
+    }
+
+    private void assertMoves(MoveIteratorFactory<Schedule, ?> moveIteratorFactory, boolean keepsFeasibility) {
+        final SolverConfig solverConfig = new SolverConfig()
+                .withSolutionClass(Schedule.class)
+                .withEntityClasses(Match.class)
+                .withConstraintProviderClass(ScheduleConstraintProvider.class)
+                .withPhases(new CustomPhaseConfig().withCustomPhaseCommandList(List.of(new RoundRobinInitializer())));
+        final SolverFactory<Schedule> solverFactory = SolverFactory.create(solverConfig);
+        final Schedule schedule = solverFactory.buildSolver().solve(buildSchedule());
+        assertThat(schedule.getScore().hardScore()).isZero();
+
+        try (InnerScoreDirector<Schedule, HardSoftLongScore> scoreDirector = ((DefaultSolverFactory<Schedule>) solverFactory)
+                .<HardSoftLongScore> getScoreDirectorFactory().buildScoreDirector()) {
+            scoreDirector.setWorkingSolution(schedule);
+            final HardSoftLongScore score = scoreDirector.calculateScore();
+            final List<Matchup> matchups = schedule.getMatches().stream().map(Match::getMatchup).toList();
+
+            final List<Move<Schedule>> moves = new ArrayList<>();
+            moveIteratorFactory.createOriginalMoveIterator(scoreDirector).forEachRemaining(moves::add);
+            assertThat(moves).isNotEmpty();
+            assertThat(moveIteratorFactory.getSize(scoreDirector)).isPositive();
+            for (final Move<Schedule> move : moves) {
+                if (!move.isMoveDoable(scoreDirector)) {
+                    continue;
+                }
+
+                final Move<Schedule> undoMove = move.doMove(scoreDirector);
+                if (keepsFeasibility) {
+                    assertThat(scoreDirector.calculateScore().hardScore()).as(move.toString()).isZero();
+                }
+
+                undoMove.doMove(scoreDirector);
+                assertThat(scoreDirector.calculateScore()).isEqualTo(score);
+                assertThat(schedule.getMatches().stream().map(Match::getMatchup)).containsExactlyElementsOf(matchups);
+            }
+
+            // The random moves are drawn from the same moves
+            final List<String> descriptions = moves.stream().map(Move::toString).toList();
+            final Iterator<? extends Move<Schedule>> randomMoves = moveIteratorFactory
+                    .createRandomMoveIterator(scoreDirector, new Random(0));
+            for (int i = 0; i < 10; i++) {
+                assertThat(randomMoves.hasNext()).isTrue();
+                assertThat(descriptions).contains(randomMoves.next().toString());
+            }
+        }
+    }
+
+    private Schedule buildSchedule() {
+        final List<Team> teams = IntStream.rangeClosed(1, 8).mapToObj(i -> new Team(i, "Team" + i)).toList();
+        final List<Venue> venues = List.of(new Venue(1, "Venue1"), new Venue(2, "Venue2"));
+        final List<Match> matches = builder.buildMatches(7, LocalDate.of(2024, 9, 9),
+                List.of(new DayTimeSlots(DayOfWeek.TUESDAY, List.of(LocalTime.of(18, 30), LocalTime.of(20, 0)))),
+                venues);
+        return new Schedule(new Constraints(1, null), teams, builder.buildMatchups(teams), matches);
+    }
+}